@@ -0,0 +1,106 @@
+package com.MyApp.DoctorConsultantApp.benchmark;
+
+import com.MyApp.DoctorConsultantApp.DoctorConsultantAppApplication;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentRepository;
+import com.MyApp.DoctorConsultantApp.repository.DoctorRepository;
+import com.MyApp.DoctorConsultantApp.repository.PaymentRepository;
+import com.MyApp.DoctorConsultantApp.repository.UserRepository;
+import com.MyApp.DoctorConsultantApp.service.AvailabilityService;
+import com.MyApp.DoctorConsultantApp.service.DashboardService;
+import com.MyApp.DoctorConsultantApp.service.DoctorSearchService;
+import com.MyApp.DoctorConsultantApp.service.RevenueAggregationService;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"500"})
+    public int doctors;
+
+    @Param({"2000"})
+    public int users;
+
+    @Param({"20"})
+    public int appointmentsPerDoctor;
+
+    public ConfigurableApplicationContext context;
+    public List<Long> doctorIds;
+    public List<Long> userIds;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(DoctorConsultantAppApplication.class)
+                .profiles("benchmark")
+                .run();
+        seed();
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        String passwordHash = bean(BCryptPasswordEncoder.class).encode(BenchmarkData.PASSWORD);
+
+        List<Doctor> doctorList = new ArrayList<>(doctors);
+        for (int i = 0; i < doctors; i++) {
+            doctorList.add(BenchmarkData.doctor(i, passwordHash, random));
+        }
+        doctorList = bean(DoctorRepository.class).saveAll(doctorList);
+
+        List<User> userList = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userList.add(BenchmarkData.user(i, passwordHash));
+        }
+        userList = bean(UserRepository.class).saveAll(userList);
+
+        // Past appointments, one per day per doctor, so booking benchmarks get future slots to themselves
+        List<Appointment> appointments = new ArrayList<>();
+        LocalDate start = LocalDate.now().minusDays(appointmentsPerDoctor);
+        for (Doctor doctor : doctorList) {
+            for (int day = 0; day < appointmentsPerDoctor; day++) {
+                User user = userList.get(random.nextInt(userList.size()));
+                appointments.add(BenchmarkData.appointment(user, doctor, start.plusDays(day), LocalTime.of(9, 0)));
+            }
+        }
+        appointments = bean(AppointmentRepository.class).saveAll(appointments);
+
+        List<Payment> payments = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            payments.add(BenchmarkData.payment(appointment));
+        }
+        bean(PaymentRepository.class).saveAll(payments);
+
+        doctorIds = doctorList.stream().map(Doctor::getId).toList();
+        userIds = userList.stream().map(User::getId).toList();
+
+        // The in-memory indexes were built at startup against an empty database
+        bean(DoctorSearchService.class).rebuild();
+        bean(AvailabilityService.class).rebuild();
+        bean(RevenueAggregationService.class).rebuild();
+        bean(DashboardService.class).refresh();
+    }
+}
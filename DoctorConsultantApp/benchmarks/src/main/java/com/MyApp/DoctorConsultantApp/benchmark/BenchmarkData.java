@@ -0,0 +1,95 @@
+package com.MyApp.DoctorConsultantApp.benchmark;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.dto.Role;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import com.MyApp.DoctorConsultantApp.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class BenchmarkData {
+
+    public static final String PASSWORD = "benchmark-password";
+
+    public static final String[] SPECIALIZATIONS = {
+            "Nephrology", "Anesthesiology", "Orthopedics", "Ophthalmology", "Pediatrics",
+            "Oncology", "Dermatology", "Pathology", "Psychiatry", "General surgery",
+            "Endocrinology", "Radiology", "Surgery", "Cardiology", "Geriatrics"
+    };
+
+    public static final String[] TAGS = {
+            "Fever", "Child Care", "Leg Pains", "Headache", "Diabetes", "Skin Allergy",
+            "Vision Issues", "Mental Health", "Thyroid", "Heart Health", "Back Pain", "Allergy"
+    };
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+
+    private BenchmarkData() {
+    }
+
+    public static Doctor doctor(int i, String passwordHash, Random random) {
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Doctor " + i);
+        doctor.setEmail("doctor" + i + "@bench.local");
+        doctor.setPassword(passwordHash);
+        doctor.setGender(i % 2 == 0 ? "Male" : "Female");
+        doctor.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+        doctor.setQualification("MBBS, MD");
+        doctor.setBio("Benchmark doctor number " + i + " with a realistic length biography for serialization.");
+        doctor.setFees(100 + random.nextInt(900));
+        doctor.setRating(3.5 + random.nextInt(16) / 10.0);
+        doctor.setStatus(ApprovalStatus.APPROVED);
+
+        List<String> tags = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        doctor.setTags(tags);
+
+        List<String> schedules = new ArrayList<>();
+        for (String day : DAYS) {
+            schedules.add(day + " 9AM - 10AM");
+            schedules.add(day + " 5PM - 6PM");
+        }
+        doctor.setSchedules(schedules);
+        return doctor;
+    }
+
+    public static User user(int i, String passwordHash) {
+        User user = new User();
+        user.setFullName("Patient " + i);
+        user.setEmail("patient" + i + "@bench.local");
+        user.setPassword(passwordHash);
+        user.setGender(i % 2 == 0 ? "Female" : "Male");
+        user.setAge(20 + i % 50);
+        user.setBloodGroup("O+");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    public static Appointment appointment(User user, Doctor doctor, LocalDate date, LocalTime time) {
+        Appointment appointment = new Appointment();
+        appointment.setUser(user);
+        appointment.setDoctor(doctor);
+        appointment.setDate(date);
+        appointment.setTime(time);
+        return appointment;
+    }
+
+    public static Payment payment(Appointment appointment) {
+        Payment payment = new Payment();
+        payment.setAppointment(appointment);
+        payment.setAmount(appointment.getDoctor().getFees());
+        payment.setPaymentDate(appointment.getDate().atTime(appointment.getTime()));
+        return payment;
+    }
+}
@@ -0,0 +1,84 @@
+package com.MyApp.DoctorConsultantApp.benchmark;
+
+import com.MyApp.DoctorConsultantApp.dto.AppointmentSummary;
+import com.MyApp.DoctorConsultantApp.dto.DoctorProfileResponse;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    private ObjectMapper objectMapper;
+    private List<Appointment> appointments;
+    private List<AppointmentSummary> summaries;
+    private DoctorProfileResponse profile;
+
+    @Setup
+    public void setup() {
+        // Same defaults Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        appointments = new ArrayList<>(LIST_SIZE);
+        summaries = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            Doctor doctor = BenchmarkData.doctor(i, "$2a$10$hash", random);
+            doctor.setId((long) i);
+            User user = BenchmarkData.user(i, "$2a$10$hash");
+            user.setId((long) i);
+            Appointment appointment = BenchmarkData.appointment(user, doctor, LocalDate.now(), LocalTime.of(9, 0));
+            appointment.setId((long) i);
+            appointments.add(appointment);
+            summaries.add(new AppointmentSummary(appointment.getId(), appointment.getDate(), appointment.getTime(),
+                    appointment.getStatus(), appointment.isPaid(), user.getId(), user.getFullName(), user.getGender(),
+                    doctor.getId(), doctor.getFullName(), doctor.getGender(), doctor.getSpecialization()));
+        }
+        profile = new DoctorProfileResponse(appointments.get(0).getDoctor());
+    }
+
+    @Benchmark
+    public byte[] appointmentEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] appointmentSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] doctorProfile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(profile);
+    }
+}
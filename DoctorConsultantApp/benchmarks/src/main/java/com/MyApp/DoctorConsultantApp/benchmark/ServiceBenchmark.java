@@ -0,0 +1,115 @@
+package com.MyApp.DoctorConsultantApp.benchmark;
+
+import com.MyApp.DoctorConsultantApp.controller.LoginController;
+import com.MyApp.DoctorConsultantApp.dto.AdminDashboard;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchQuery;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchResult;
+import com.MyApp.DoctorConsultantApp.dto.LoginRequest;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.service.DashboardService;
+import com.MyApp.DoctorConsultantApp.service.DoctorSearchService;
+import com.MyApp.DoctorConsultantApp.service.SlotBookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Each fork boots its own application context; run with -t to add contention
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+
+    // Appointments are booked on the hours the seeded schedules do not use
+    private static final int FIRST_HOUR = 10;
+    private static final int HOURS_PER_DAY = 7;
+
+    private SlotBookingService slotBookingService;
+    private LoginController loginController;
+    private DoctorSearchService doctorSearchService;
+    private DashboardService dashboardService;
+
+    private List<Long> doctorIds;
+    private List<Long> userIds;
+    private int users;
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    @Setup
+    public void setup(ApplicationState app) {
+        slotBookingService = app.bean(SlotBookingService.class);
+        loginController = app.bean(LoginController.class);
+        doctorSearchService = app.bean(DoctorSearchService.class);
+        dashboardService = app.bean(DashboardService.class);
+        doctorIds = app.doctorIds;
+        userIds = app.userIds;
+        users = app.users;
+    }
+
+    @Benchmark
+    public Appointment bookAppointment() {
+        // Every invocation takes a fresh slot so the measurement is the success path
+        long slot = nextSlot.getAndIncrement();
+        int doctorIndex = (int) (slot % doctorIds.size());
+        long offset = slot / doctorIds.size();
+        LocalDate date = LocalDate.now().plusDays(1 + offset / HOURS_PER_DAY);
+        LocalTime time = LocalTime.of(FIRST_HOUR + (int) (offset % HOURS_PER_DAY), 0);
+        Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        return slotBookingService.book(userId, doctorIds.get(doctorIndex), date, time);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ResponseEntity<?> login() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("patient" + ThreadLocalRandom.current().nextInt(users) + "@bench.local");
+        request.setPassword(BenchmarkData.PASSWORD);
+        return loginController.login(request);
+    }
+
+    @Benchmark
+    public List<DoctorSearchResult> searchCached() {
+        return doctorSearchService.search(new DoctorSearchQuery(
+                "Cardiology", null, null, null, null, null, DoctorSearchQuery.Sort.RATING));
+    }
+
+    @Benchmark
+    public List<DoctorSearchResult> searchUncached() {
+        // Spread over far more distinct queries than the result cache holds
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String specialization = BenchmarkData.SPECIALIZATIONS[random.nextInt(BenchmarkData.SPECIALIZATIONS.length)];
+        String tag = BenchmarkData.TAGS[random.nextInt(BenchmarkData.TAGS.length)];
+        return doctorSearchService.search(new DoctorSearchQuery(
+                specialization, List.of(tag), null, (double) random.nextInt(1000), null, null,
+                DoctorSearchQuery.Sort.FEES));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AdminDashboard dashboardRefresh() {
+        return dashboardService.refresh();
+    }
+
+    @Benchmark
+    public AdminDashboard dashboardSnapshot() {
+        return dashboardService.getDashboard();
+    }
+}
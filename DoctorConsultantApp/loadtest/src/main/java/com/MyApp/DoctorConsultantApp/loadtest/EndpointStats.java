@@ -0,0 +1,58 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import java.util.Arrays;
+
+public class EndpointStats {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int count;
+    private long rejected;
+    private long errors;
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    // status is 0 when the request failed without a response
+    public synchronized void record(long nanos, int status) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        // 409 is the expected answer to losing a booking race, not a failure
+        if (status == 409) {
+            rejected++;
+        } else if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(name, count, rejected, errors, count / seconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                percentile(sorted, 99.9), count > 0 ? toMillis(sorted[count - 1]) : 0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public record Summary(String name, long count, long rejected, long errors, double throughput,
+                          double p50, double p90, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class LoadClient {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final String baseUrl;
+    private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public LoadClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    public void resetStats() {
+        stats.clear();
+    }
+
+    public String login(String email, String password) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = call("POST /api/login", HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), null);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            return json.path("accessToken").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public HttpResponse<String> get(String endpoint, String path, String token) {
+        return call(endpoint, HttpRequest.newBuilder(uri(path)).GET(), token);
+    }
+
+    public HttpResponse<String> post(String endpoint, String path, String token) {
+        return call(endpoint, HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody()), token);
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest.Builder request, String token) {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        request.timeout(Duration.ofSeconds(30));
+        long started = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Counted below as a failed request
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (recording) {
+            stats.computeIfAbsent(endpoint, EndpointStats::new)
+                    .record(System.nanoTime() - started, response != null ? response.statusCode() : 0);
+        }
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
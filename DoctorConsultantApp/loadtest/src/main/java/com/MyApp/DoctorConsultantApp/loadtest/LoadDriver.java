@@ -0,0 +1,139 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class LoadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    // Booking rush only targets hours that most seeded schedules contain
+    private static final String[] RUSH_TIMES = {"09:00:00", "17:00:00"};
+    private static final int RUSH_DAYS = 7;
+
+    private final LoadClient client;
+    private final SeedData seed;
+    private final LoadTestOptions options;
+
+    private volatile boolean running;
+
+    public LoadDriver(LoadClient client, SeedData seed, LoadTestOptions options) {
+        this.client = client;
+        this.seed = seed;
+        this.options = options;
+    }
+
+    public List<EndpointStats.Summary> run() throws InterruptedException {
+        String adminToken = client.login(SeedData.ADMIN_EMAIL, SeedData.PASSWORD);
+        if (adminToken == null) {
+            throw new IllegalStateException("Could not log in as the seeded admin");
+        }
+
+        running = true;
+        ExecutorService workers = Executors.newFixedThreadPool(options.getConcurrency());
+        for (int i = 0; i < options.getConcurrency(); i++) {
+            workers.submit(() -> work(adminToken));
+        }
+
+        log.info("Warming up for {} s", options.getWarmupSeconds());
+        TimeUnit.SECONDS.sleep(options.getWarmupSeconds());
+        client.resetStats();
+        client.setRecording(true);
+        long started = System.nanoTime();
+
+        log.info("Measuring {} with {} workers for {} s",
+                options.getScenario(), options.getConcurrency(), options.getDurationSeconds());
+        TimeUnit.SECONDS.sleep(options.getDurationSeconds());
+        client.setRecording(false);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(60, TimeUnit.SECONDS);
+
+        List<EndpointStats.Summary> summaries = new ArrayList<>();
+        for (EndpointStats stats : client.getStats().values()) {
+            summaries.add(stats.summarize(seconds));
+        }
+        summaries.sort(Comparator.comparing(EndpointStats.Summary::name));
+        return summaries;
+    }
+
+    private void work(String adminToken) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int patient = random.nextInt(seed.getUserIds().size());
+        String token = client.login(SeedData.userEmail(patient), SeedData.PASSWORD);
+        Long userId = seed.getUserIds().get(patient);
+
+        while (running) {
+            switch (options.getScenario()) {
+                case LOGIN_STORM -> login();
+                case BOOKING_RUSH -> book(token, userId);
+                case DASHBOARD_POLLING -> pollDashboard(adminToken);
+                case MIXED -> mixed(token, userId, adminToken);
+            }
+        }
+    }
+
+    private void login() {
+        int patient = ThreadLocalRandom.current().nextInt(seed.getUserIds().size());
+        client.login(SeedData.userEmail(patient), SeedData.PASSWORD);
+    }
+
+    private void book(String token, Long userId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long doctorId = seed.getDoctorIds().get(random.nextInt(options.getHotDoctors()));
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(RUSH_DAYS));
+        String time = RUSH_TIMES[random.nextInt(RUSH_TIMES.length)];
+        client.post("POST /api/appointments/book",
+                "/api/appointments/book?userId=" + userId + "&doctorId=" + doctorId + "&date=" + date + "&time=" + time,
+                token);
+    }
+
+    private void pollDashboard(String adminToken) {
+        int pick = ThreadLocalRandom.current().nextInt(10);
+        if (pick < 7) {
+            client.get("GET /api/admin/dashboard", "/api/admin/dashboard", adminToken);
+        } else if (pick < 9) {
+            client.get("GET /api/admin/pending", "/api/admin/pending?size=50", adminToken);
+        } else {
+            client.get("GET /api/admin/appointments", "/api/admin/appointments?size=100", adminToken);
+        }
+    }
+
+    // Weights roughly follow what the mobile app does: mostly browsing, some booking
+    private void mixed(String token, Long userId, String adminToken) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(100);
+        if (pick < 35) {
+            String specialization = LoadTestSeeder.SPECIALIZATIONS[random.nextInt(LoadTestSeeder.SPECIALIZATIONS.length)];
+            client.get("GET /api/doctor/search",
+                    "/api/doctor/search?specialization=" + specialization.replace(" ", "%20")
+                            + "&sort=" + (random.nextBoolean() ? "RATING" : "FEES"),
+                    token);
+        } else if (pick < 50) {
+            Long doctorId = seed.getDoctorIds().get(random.nextInt(seed.getDoctorIds().size()));
+            client.get("GET /api/doctor/profile/{id}", "/api/doctor/profile/" + doctorId, token);
+        } else if (pick < 60) {
+            Long doctorId = seed.getDoctorIds().get(random.nextInt(seed.getDoctorIds().size()));
+            client.get("GET /api/doctor/{id}/availability", "/api/doctor/" + doctorId + "/availability", token);
+        } else if (pick < 75) {
+            client.get("GET /api/appointments/user/{id}", "/api/appointments/user/" + userId, token);
+        } else if (pick < 85) {
+            book(token, userId);
+        } else if (pick < 95) {
+            login();
+        } else {
+            pollDashboard(adminToken);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import com.MyApp.DoctorConsultantApp.DoctorConsultantAppApplication;
+import com.MyApp.DoctorConsultantApp.service.AvailabilityService;
+import com.MyApp.DoctorConsultantApp.service.DashboardService;
+import com.MyApp.DoctorConsultantApp.service.DoctorSearchService;
+import com.MyApp.DoctorConsultantApp.service.RevenueAggregationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class LoadTestMain {
+
+    // The virtual-threads profile's pool size; both runs use it so only the thread model differs
+    private static final int COMPARE_POOL_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.out.println("Load test: " + options);
+
+        if (!options.isCompareThreads()) {
+            print(run(options, options.getProfiles()));
+        } else {
+            if (Runtime.version().feature() < 21) {
+                // Spring Boot ignores spring.threads.virtual.enabled below 21, so both runs would use platform threads
+                throw new IllegalStateException("compare-threads needs a Java 21 runtime, not " + Runtime.version());
+            }
+            if (Arrays.asList(options.getProfiles()).contains("virtual-threads")) {
+                throw new IllegalArgumentException("compare-threads adds the virtual-threads profile itself");
+            }
+            String pool = "--spring.datasource.hikari.maximum-pool-size=" + COMPARE_POOL_SIZE;
+            System.out.println();
+            System.out.println("Platform threads");
+            List<EndpointStats.Summary> platform = run(options, options.getProfiles(), pool);
+            print(platform);
+            System.out.println();
+            System.out.println("Virtual threads");
+            String[] profiles = Stream.concat(Arrays.stream(options.getProfiles()), Stream.of("virtual-threads"))
+                    .toArray(String[]::new);
+            List<EndpointStats.Summary> virtual = run(options, profiles, pool);
+            print(virtual);
+            printComparison(platform, virtual);
+        }
+        System.exit(0);
+    }
+
+    private static List<EndpointStats.Summary> run(LoadTestOptions options, String[] profiles, String... args)
+            throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DoctorConsultantAppApplication.class)
+                .profiles(profiles)
+                .run(args);
+        try {
+            SeedData seed = new LoadTestSeeder(context, options).seed();
+
+            // The in-memory indexes were built at startup against an empty database
+            context.getBean(DoctorSearchService.class).rebuild();
+            context.getBean(AvailabilityService.class).rebuild();
+            context.getBean(RevenueAggregationService.class).rebuild();
+            context.getBean(DashboardService.class).refresh();
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadClient client = new LoadClient("http://localhost:" + port);
+            return new LoadDriver(client, seed, options).run();
+        } finally {
+            // Also drops the embedded schema, so a second run starts from the same seed
+            context.close();
+        }
+    }
+
+    private static void print(List<EndpointStats.Summary> summaries) {
+        String header = String.format(Locale.ROOT, "%-36s %9s %8s %7s %9s %8s %8s %8s %8s %8s",
+                "endpoint", "requests", "409", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        System.out.println();
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        long total = 0;
+        double throughput = 0;
+        for (EndpointStats.Summary s : summaries) {
+            System.out.println(String.format(Locale.ROOT, "%-36s %9d %8d %7d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f",
+                    s.name(), s.count(), s.rejected(), s.errors(), s.throughput(),
+                    s.p50(), s.p90(), s.p99(), s.p999(), s.max()));
+            total += s.count();
+            throughput += s.throughput();
+        }
+        System.out.println("-".repeat(header.length()));
+        System.out.println(String.format(Locale.ROOT, "%-36s %9d %8s %7s %9.1f", "total", total, "", "", throughput));
+    }
+
+    private static void printComparison(List<EndpointStats.Summary> platform, List<EndpointStats.Summary> virtual) {
+        Map<String, EndpointStats.Summary> virtualByName = new LinkedHashMap<>();
+        virtual.forEach(s -> virtualByName.put(s.name(), s));
+        String header = String.format(Locale.ROOT, "%-36s %12s %12s %12s %12s %9s %9s",
+                "endpoint", "platform r/s", "virtual r/s", "platform p99", "virtual p99", "p errors", "v errors");
+        System.out.println();
+        System.out.println("Platform vs virtual threads (pool size " + COMPARE_POOL_SIZE + ")");
+        System.out.println(header);
+        System.out.println("-".repeat(header.length()));
+        double platformTotal = 0;
+        double virtualTotal = 0;
+        for (EndpointStats.Summary p : platform) {
+            EndpointStats.Summary v = virtualByName.get(p.name());
+            if (v == null) {
+                continue;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-36s %12.1f %12.1f %12.2f %12.2f %9d %9d",
+                    p.name(), p.throughput(), v.throughput(), p.p99(), v.p99(), p.errors(), v.errors()));
+            platformTotal += p.throughput();
+            virtualTotal += v.throughput();
+        }
+        System.out.println("-".repeat(header.length()));
+        System.out.println(String.format(Locale.ROOT, "%-36s %12.1f %12.1f", "total", platformTotal, virtualTotal));
+    }
+}
@@ -0,0 +1,115 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class LoadTestOptions {
+
+    public enum Scenario {
+        LOGIN_STORM,
+        BOOKING_RUSH,
+        DASHBOARD_POLLING,
+        MIXED
+    }
+
+    private Scenario scenario = Scenario.MIXED;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int concurrency = 64;
+    private int doctors = 2000;
+    private int users = 20000;
+    private int appointments = 50000;
+    private double paidRatio = 0.6;
+    private int hotDoctors = 20;
+    private final List<String> profiles = new ArrayList<>(List.of("loadtest"));
+    private boolean compareThreads;
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.contains("=")) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            String name = arg.substring(arg.startsWith("--") ? 2 : 0, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "scenario" -> options.scenario = Scenario.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+                case "duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "doctors" -> options.doctors = Integer.parseInt(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "appointments" -> options.appointments = Integer.parseInt(value);
+                case "paid-ratio" -> options.paidRatio = Double.parseDouble(value);
+                case "hot-doctors" -> options.hotDoctors = Integer.parseInt(value);
+                case "profiles" -> options.profiles.addAll(List.of(value.split(",")));
+                case "compare-threads" -> options.compareThreads = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return options;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getDoctors() {
+        return doctors;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getAppointments() {
+        return appointments;
+    }
+
+    public double getPaidRatio() {
+        return paidRatio;
+    }
+
+    public String[] getProfiles() {
+        return profiles.toArray(new String[0]);
+    }
+
+    public boolean isCompareThreads() {
+        return compareThreads;
+    }
+
+    // Booking rush concentrates on this many doctors so slot conflicts actually happen
+    public int getHotDoctors() {
+        return Math.min(hotDoctors, doctors);
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestOptions{" +
+                "scenario=" + scenario +
+                ", durationSeconds=" + durationSeconds +
+                ", warmupSeconds=" + warmupSeconds +
+                ", concurrency=" + concurrency +
+                ", doctors=" + doctors +
+                ", users=" + users +
+                ", appointments=" + appointments +
+                ", paidRatio=" + paidRatio +
+                ", hotDoctors=" + hotDoctors +
+                ", profiles=" + profiles +
+                ", compareThreads=" + compareThreads +
+                '}';
+    }
+}
@@ -0,0 +1,178 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.dto.Role;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentRepository;
+import com.MyApp.DoctorConsultantApp.repository.DoctorRepository;
+import com.MyApp.DoctorConsultantApp.repository.PaymentRepository;
+import com.MyApp.DoctorConsultantApp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LoadTestSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    // Seeded appointments spread over this many days, starting 90 days ago
+    private static final int HISTORY_DAYS = 104;
+    private static final int FIRST_HOUR = 8;
+    private static final int HOURS_PER_DAY = 12;
+
+    static final String[] SPECIALIZATIONS = {
+            "Nephrology", "Anesthesiology", "Orthopedics", "Ophthalmology", "Pediatrics",
+            "Oncology", "Dermatology", "Pathology", "Psychiatry", "General surgery",
+            "Endocrinology", "Radiology", "Surgery", "Cardiology", "Geriatrics"
+    };
+
+    static final String[] TAGS = {
+            "Fever", "Child Care", "Leg Pains", "Headache", "Diabetes", "Skin Allergy",
+            "Vision Issues", "Mental Health", "Thyroid", "Heart Health", "Back Pain", "Allergy"
+    };
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+    private static final String[] HOURS = {"8AM - 9AM", "9AM - 10AM", "10AM - 11AM", "5PM - 6PM", "6PM - 7PM"};
+
+    private final ApplicationContext context;
+    private final LoadTestOptions options;
+    private final Random random = new Random(42);
+
+    public LoadTestSeeder(ApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.options = options;
+    }
+
+    public SeedData seed() {
+        long started = System.currentTimeMillis();
+        // One hash for everyone; hashing 20k passwords would dominate the seeding time
+        String passwordHash = context.getBean(BCryptPasswordEncoder.class).encode(SeedData.PASSWORD);
+
+        List<Doctor> doctors = new ArrayList<>(options.getDoctors());
+        DoctorRepository doctorRepository = context.getBean(DoctorRepository.class);
+        for (int i = 0; i < options.getDoctors(); i++) {
+            doctors.add(doctor(i, passwordHash));
+        }
+        doctors = saveInChunks(doctors, doctorRepository::saveAll);
+
+        List<User> users = new ArrayList<>(options.getUsers() + 1);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        for (int i = 0; i < options.getUsers(); i++) {
+            users.add(user(SeedData.userEmail(i), "Patient " + i, Role.USER, passwordHash));
+        }
+        users = saveInChunks(users, userRepository::saveAll);
+        userRepository.save(user(SeedData.ADMIN_EMAIL, "Load Admin", Role.ADMIN, passwordHash));
+
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(90);
+        List<Appointment> appointments = new ArrayList<>(options.getAppointments());
+        int maxSlots = options.getDoctors() * HISTORY_DAYS * HOURS_PER_DAY;
+        for (int k = 0; k < Math.min(options.getAppointments(), maxSlots); k++) {
+            // Walk slots doctor-first so each (doctor, date, time) is used once
+            int slot = k / options.getDoctors();
+            LocalDate date = firstDay.plusDays(slot % HISTORY_DAYS);
+            LocalTime time = LocalTime.of(FIRST_HOUR + (slot / HISTORY_DAYS) % HOURS_PER_DAY, 0);
+
+            Appointment appointment = new Appointment();
+            appointment.setDoctor(doctors.get(k % doctors.size()));
+            appointment.setUser(users.get(random.nextInt(users.size())));
+            appointment.setDate(date);
+            appointment.setTime(time);
+            boolean past = date.isBefore(today);
+            boolean paid = past && random.nextDouble() < options.getPaidRatio();
+            appointment.setPaid(paid);
+            appointment.setStatus(paid ? Appointment.AppointmentStatus.COMPLETED
+                    : random.nextBoolean() ? Appointment.AppointmentStatus.APPROVED
+                    : Appointment.AppointmentStatus.PENDING);
+            appointments.add(appointment);
+        }
+        appointments = saveInChunks(appointments, context.getBean(AppointmentRepository.class)::saveAll);
+
+        List<Payment> payments = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            if (appointment.isPaid()) {
+                Payment payment = new Payment();
+                payment.setAppointment(appointment);
+                payment.setAmount(appointment.getDoctor().getFees());
+                payment.setPaymentDate(appointment.getDate().atTime(appointment.getTime()));
+                payments.add(payment);
+            }
+        }
+        saveInChunks(payments, context.getBean(PaymentRepository.class)::saveAll);
+
+        log.info("Seeded {} doctors, {} patients, {} appointments and {} payments in {} ms",
+                doctors.size(), users.size(), appointments.size(), payments.size(),
+                System.currentTimeMillis() - started);
+        return new SeedData(doctors.stream().map(Doctor::getId).toList(), users.stream().map(User::getId).toList());
+    }
+
+    private Doctor doctor(int i, String passwordHash) {
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Doctor " + i);
+        doctor.setEmail(SeedData.doctorEmail(i));
+        doctor.setPassword(passwordHash);
+        doctor.setGender(random.nextBoolean() ? "Male" : "Female");
+        doctor.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+        doctor.setQualification("MBBS, MD");
+        doctor.setBio("Experienced " + doctor.getSpecialization() + " specialist seeded for load testing.");
+        doctor.setFees(100 + random.nextInt(900));
+        doctor.setRating(3.5 + random.nextInt(16) / 10.0);
+        doctor.setStatus(i % 20 == 0 ? ApprovalStatus.PENDING : ApprovalStatus.APPROVED);
+
+        List<String> tags = new ArrayList<>();
+        while (tags.size() < 3) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            if (!tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        doctor.setTags(tags);
+
+        List<String> schedules = new ArrayList<>();
+        for (String day : DAYS) {
+            for (String hours : HOURS) {
+                if (random.nextInt(3) > 0) {
+                    schedules.add(day + " " + hours);
+                }
+            }
+        }
+        doctor.setSchedules(schedules);
+        return doctor;
+    }
+
+    private User user(String email, String fullName, Role role, String passwordHash) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail(email);
+        user.setPassword(passwordHash);
+        user.setGender(random.nextBoolean() ? "Female" : "Male");
+        user.setAge(18 + random.nextInt(60));
+        user.setBloodGroup("O+");
+        user.setRole(role);
+        return user;
+    }
+
+    private interface SaveAll<T> {
+        List<T> saveAll(Iterable<T> entities);
+    }
+
+    private static <T> List<T> saveInChunks(List<T> entities, SaveAll<T> repository) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            saved.addAll(repository.saveAll(entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size()))));
+        }
+        return saved;
+    }
+}
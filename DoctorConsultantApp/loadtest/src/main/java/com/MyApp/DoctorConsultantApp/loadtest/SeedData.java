@@ -0,0 +1,33 @@
+package com.MyApp.DoctorConsultantApp.loadtest;
+
+import java.util.List;
+
+public class SeedData {
+
+    public static final String PASSWORD = "loadtest-password";
+    public static final String ADMIN_EMAIL = "admin@load.local";
+
+    private final List<Long> doctorIds;
+    private final List<Long> userIds;
+
+    public SeedData(List<Long> doctorIds, List<Long> userIds) {
+        this.doctorIds = doctorIds;
+        this.userIds = userIds;
+    }
+
+    public List<Long> getDoctorIds() {
+        return doctorIds;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public static String userEmail(int index) {
+        return "patient" + index + "@load.local";
+    }
+
+    public static String doctorEmail(int index) {
+        return "doctor" + index + "@load.local";
+    }
+}
@@ -0,0 +1,111 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Virtual threads leave nothing else bounding concurrency, so callers beyond maxWaiting fail at once
+// instead of each waiting out the pool's connection timeout
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrent, int maxWaiting, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        // The queue length is a snapshot, so the cap can be overshot by a few racing callers
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException(
+                    "Database busy: " + maxWaiting + " requests already waiting for a connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No database connection permit available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    if ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName())) {
+                        if (((Class<?>) args[0]).isInstance(proxy)) {
+                            return "unwrap".equals(method.getName()) ? proxy : true;
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.max-concurrent")
+public class DataSourceLimitConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConcurrent = environment.getRequiredProperty("app.datasource.max-concurrent", Integer.class);
+        int maxWaiting = environment.getProperty("app.datasource.max-waiting", Integer.class, 10 * maxConcurrent);
+        long acquireTimeoutMs = environment.getProperty("app.datasource.acquire-timeout-ms", Long.class, 2000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)
+                        && "dataSource".equals(beanName)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent, maxWaiting, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
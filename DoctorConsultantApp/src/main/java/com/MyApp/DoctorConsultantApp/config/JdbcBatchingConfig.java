@@ -0,0 +1,21 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Only sequence-id entities (Doctor) batch inserts; identity ids still insert row by row
+@Configuration
+public class JdbcBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            // Sorting by entity keeps doctors, tags and schedules in separate, full batches
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import com.MyApp.DoctorConsultantApp.service.EmailDispatcher;
+import com.MyApp.DoctorConsultantApp.service.NotificationHub;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder notificationQueueMetrics(EmailDispatcher emailDispatcher, NotificationHub notificationHub) {
+        return registry -> {
+            Gauge.builder("notifications.email.queue.depth", emailDispatcher, EmailDispatcher::getQueueDepth)
+                    .description("Emails in the outbox waiting to be sent")
+                    .register(registry);
+            Gauge.builder("notifications.sse.subscribers", notificationHub, NotificationHub::getSubscriberCount)
+                    .description("Open notification streams")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited = unwrap(dataSource, ConcurrencyLimitedDataSource.class);
+            if (limited != null) {
+                Gauge.builder("datasource.permits.waiting", limited, ConcurrencyLimitedDataSource::getWaitingThreads)
+                        .description("Threads queued for a connection permit ahead of the pool")
+                        .register(registry);
+                FunctionCounter.builder("datasource.permits.rejected", limited, ConcurrencyLimitedDataSource::getRejectedCount)
+                        .description("Connection requests refused because the permit queue was full or timed out")
+                        .register(registry);
+            }
+        };
+    }
+
+    // The DataSource may be wrapped several times (SQL accounting, concurrency limit)
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import com.MyApp.DoctorConsultantApp.dto.TokenClaims;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+@Component("notificationAccess")
+public class NotificationAccess {
+
+    public boolean canAccess(Authentication authentication, String recipientType, Long recipientId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof TokenClaims claims)) {
+            return false;
+        }
+        if ("ADMIN".equals(claims.getRole())) {
+            return true;
+        }
+        return claims.getRole() != null && claims.getRole().equalsIgnoreCase(recipientType)
+                && claims.getSubjectId() != null && claims.getSubjectId().equals(recipientId);
+    }
+}
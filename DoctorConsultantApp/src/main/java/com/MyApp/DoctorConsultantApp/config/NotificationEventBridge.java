@@ -0,0 +1,78 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.service.NotificationCounterService;
+import com.MyApp.DoctorConsultantApp.service.NotificationHub;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Post-commit events, so subscribers and counters never see a rolled-back notification
+@Component
+public class NotificationEventBridge implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    public static final String CREATED_EVENT = "notification";
+    public static final String UPDATED_EVENT = "notification-updated";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Notification notification) {
+            notificationCounterService.onCreated(notification);
+            publish(CREATED_EVENT, notification);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Notification notification) {
+            notificationCounterService.evict(notification.getRecipientType(), notification.getRecipientId());
+            publish(UPDATED_EVENT, notification);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Notification.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    private void publish(String eventName, Notification notification) {
+        if (notification.getRecipientType() != null && notification.getRecipientId() != null) {
+            notificationHub.publish(notification.getRecipientType(), notification.getRecipientId(), eventName, notification);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Databases that predate the Flyway scripts are baselined at V1, the schema Hibernate used to generate
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .validateMigrationNaming(true);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaValidationCustomizer(
+            @Value("${app.schema.validate:true}") boolean validate) {
+        return properties -> {
+            if (validate) {
+                properties.put("hibernate.hbm2ddl.auto", "validate");
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${app.cache.second-level.enabled:true}") boolean enabled,
+            @Value("${app.cache.statistics.enabled:true}") boolean statistics) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", enabled);
+            properties.put("hibernate.cache.use_query_cache", enabled);
+            if (enabled) {
+                properties.put("hibernate.cache.region.factory_class", "jcache");
+                properties.put("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+                // Regions without their own block in application.conf use caffeine.jcache.default
+                properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            }
+            // Feeds the hibernate.* Micrometer meters and the admin cache-stats endpoint
+            properties.put("hibernate.generate_statistics", statistics);
+        };
+    }
+}
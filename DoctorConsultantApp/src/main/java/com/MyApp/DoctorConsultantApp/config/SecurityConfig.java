@@ -4,20 +4,26 @@ import com.MyApp.DoctorConsultantApp.dto.Role;
 import com.MyApp.DoctorConsultantApp.model.User;
 import com.MyApp.DoctorConsultantApp.repository.UserRepository;
 import com.MyApp.DoctorConsultantApp.service.AdminService;
+import com.MyApp.DoctorConsultantApp.service.TokenRevocationService;
+import com.MyApp.DoctorConsultantApp.service.TokenService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -33,9 +39,19 @@ public class SecurityConfig {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
+    // Raising this re-hashes stored passwords on their next successful login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
     public CommandLineRunner insertAdmin(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
         return args -> {
@@ -60,7 +76,7 @@ public class SecurityConfig {
 
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -68,11 +84,15 @@ public class SecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Lets a 403 from @PreAuthorize reach the client instead of turning into a 401 on /error
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         .requestMatchers(
                                 "/api/doctor/register",
                                 "/api/login",
                                 "/api/doctor/search",
+                                "/api/doctor/*/availability",
                                 "/api/home/doctor/**",
                                 "/api/user/register",
                                 "/api/user/profile/**",
@@ -85,17 +105,21 @@ public class SecurityConfig {
                                 "/api/appointments/complete/**",
                                 "/api/payments/pay/**",
                                 "/api/appointments/book",
-                                "/api/notifications/**",
+                                "/api/notifications/*/*",
                                 "/api/admin/appointments",
                                 "/api/admin/pending",
                                 "/api/admin/approve-doctor/**",
                                 "/api/appointments/complete/**",
-                                "/api/admin/dashboard"
+                                "/api/admin/dashboard",
+                                "/actuator/health"
                         ).permitAll()
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Metrics reveal traffic and internals; the Prometheus scraper sends an admin bearer token
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, tokenRevocationService),
+                        UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .build();
     }
 
@@ -105,6 +129,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(Collections.singletonList(frontendUrl));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(Collections.singletonList("*"));
+        config.setExposedHeaders(Arrays.asList("X-Next-Cursor", "X-Total-Count"));
         config.setAllowCredentials(true); // If you use cookies/auth
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,45 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlAccountingDataSource)
+                        && "dataSource".equals(beanName)) {
+                    return new SqlAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-accounting.response-headers:false}") boolean responseHeaders,
+            @Value("${app.sql-accounting.max-statements:25}") int maxStatements,
+            @Value("${app.sql-accounting.slow-request-ms:1000}") long slowRequestMs,
+            @Value("${app.sql-accounting.slow-sql-ms:300}") long slowSqlMs) {
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+                new SqlAccountingFilter(meterRegistry, responseHeaders, maxStatements, slowRequestMs, slowSqlMs));
+        // Outside the security chain so rejected requests are measured too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
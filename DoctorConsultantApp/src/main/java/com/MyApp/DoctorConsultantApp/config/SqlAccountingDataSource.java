@@ -0,0 +1,88 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class SqlAccountingDataSource extends DelegatingDataSource {
+
+    public SqlAccountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isUnwrap(method, args, proxy)) {
+                        return "unwrap".equals(method.getName()) ? proxy : true;
+                    }
+                    Object result = invoke(method, connection, args);
+                    String name = method.getName();
+                    if (result instanceof CallableStatement statement) {
+                        return wrapStatement(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement && "prepareStatement".equals(name)) {
+                        return wrapStatement(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement && "createStatement".equals(name)) {
+                        return wrapStatement(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrapStatement(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isUnwrap(method, args, proxy)) {
+                        return "unwrap".equals(method.getName()) ? proxy : true;
+                    }
+                    SqlRequestStats stats = SqlRequestStats.current();
+                    if (stats == null || !method.getName().startsWith("execute")) {
+                        return invoke(method, statement, args);
+                    }
+                    long started = System.nanoTime();
+                    try {
+                        return invoke(method, statement, args);
+                    } finally {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                        stats.record(sql, System.nanoTime() - started);
+                    }
+                });
+    }
+
+    private static boolean isUnwrap(Method method, Object[] args, Object proxy) {
+        return ("unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName()))
+                && ((Class<?>) args[0]).isInstance(proxy);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// X-SQL-* headers are fixed when the response commits; statements run while streaming the body only reach the log
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int maxStatements;
+    private final long slowRequestMs;
+    private final long slowSqlMs;
+
+    public SqlAccountingFilter(MeterRegistry meterRegistry, boolean responseHeaders,
+                               int maxStatements, long slowRequestMs, long slowSqlMs) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.maxStatements = maxStatements;
+        this.slowRequestMs = slowRequestMs;
+        this.slowSqlMs = slowSqlMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        SqlRequestStats stats = SqlRequestStats.begin();
+        HttpServletResponse target = response;
+        if (responseHeaders) {
+            target = new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    writeHeaders(response, stats);
+                }
+            };
+        }
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            SqlRequestStats.end();
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            report(request, stats, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, SqlRequestStats stats) {
+        response.setHeader("X-SQL-Count", String.valueOf(stats.getStatements()));
+        response.setHeader("X-SQL-Time-Ms", String.valueOf(stats.getTotalMillis()));
+        response.setHeader("X-SQL-Slowest-Ms", String.valueOf(stats.getSlowestMillis()));
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats, long elapsedMs) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        if (stats.getStatements() > maxStatements || elapsedMs > slowRequestMs || stats.getSlowestMillis() > slowSqlMs) {
+            log.warn("{} {} took {} ms with {} SQL statements ({} ms in the database); slowest {} ms: {}",
+                    request.getMethod(), request.getRequestURI(), elapsedMs, stats.getStatements(),
+                    stats.getTotalMillis(), stats.getSlowestMillis(), abbreviate(stats.getSlowestSql()));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "-";
+        }
+        return sql.length() > 300 ? sql.substring(0, 300) + "..." : sql;
+    }
+}
@@ -0,0 +1,50 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+public class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestSql;
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long nanos) {
+        statements++;
+        totalNanos += nanos;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = sql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalMillis() {
+        return totalNanos / 1_000_000;
+    }
+
+    public long getSlowestMillis() {
+        return slowestNanos / 1_000_000;
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+}
@@ -0,0 +1,41 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Bounded so a burst of exports cannot each pin a database connection; when full, new exports are refused
+@Configuration
+public class StreamingResponseConfig implements WebMvcConfigurer {
+
+    @Value("${app.streaming.threads:8}")
+    private int threads;
+
+    @Value("${app.streaming.queue-size:16}")
+    private int queueSize;
+
+    // Large exports run for minutes; the servlet default of 30 seconds would cut them off
+    @Value("${app.streaming.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueSize);
+        executor.setThreadNamePrefix("stream-");
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,62 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import com.MyApp.DoctorConsultantApp.dto.TokenClaims;
+import com.MyApp.DoctorConsultantApp.service.TokenRevocationService;
+import com.MyApp.DoctorConsultantApp.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+// Not a bean, or Boot would also register it outside the security filter chain
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public TokenAuthenticationFilter(TokenService tokenService, TokenRevocationService tokenRevocationService) {
+        this.tokenService = tokenService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    public static Optional<String> extractToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Optional.empty();
+        }
+        return Optional.of(header.substring(BEARER_PREFIX.length()).trim());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        extractToken(request)
+                .flatMap(tokenService::verify)
+                .filter(claims -> !tokenRevocationService.isRevoked(claims))
+                .ifPresent(this::authenticate);
+        chain.doFilter(request, response);
+    }
+
+    // Streaming and SSE responses complete on an ASYNC dispatch, which is authorized again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void authenticate(TokenClaims claims) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                claims, null, List.of(new SimpleGrantedAuthority("ROLE_" + claims.getRole())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+}
@@ -1,22 +1,43 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
 import com.MyApp.DoctorConsultantApp.dto.AdminDashboard;
+import com.MyApp.DoctorConsultantApp.dto.AppointmentSummary;
 import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
-import com.MyApp.DoctorConsultantApp.dto.Role;
-import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.dto.BulkImportResponse;
+import com.MyApp.DoctorConsultantApp.dto.BulkModerationRequest;
+import com.MyApp.DoctorConsultantApp.dto.BulkModerationResponse;
+import com.MyApp.DoctorConsultantApp.dto.DailyRevenue;
+import com.MyApp.DoctorConsultantApp.dto.DoctorEarnings;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
 import com.MyApp.DoctorConsultantApp.model.Doctor;
-import com.MyApp.DoctorConsultantApp.repository.AppointmentRepository;
 import com.MyApp.DoctorConsultantApp.repository.DoctorRepository;
-import com.MyApp.DoctorConsultantApp.repository.PaymentRepository;
-import com.MyApp.DoctorConsultantApp.repository.UserRepository;
+import com.MyApp.DoctorConsultantApp.service.AppointmentSummaryService;
+import com.MyApp.DoctorConsultantApp.service.AvailabilityService;
+import com.MyApp.DoctorConsultantApp.service.BulkImportService;
+import com.MyApp.DoctorConsultantApp.service.DashboardService;
+import com.MyApp.DoctorConsultantApp.service.DoctorModerationService;
+import com.MyApp.DoctorConsultantApp.service.DoctorSearchService;
 import com.MyApp.DoctorConsultantApp.service.DoctorService;
+import com.MyApp.DoctorConsultantApp.service.EmailOutboxService;
+import com.MyApp.DoctorConsultantApp.service.EntityCacheService;
+import com.MyApp.DoctorConsultantApp.service.ReportExportService;
+import com.MyApp.DoctorConsultantApp.service.RevenueAggregationService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.LinkedHashMap;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 
@@ -26,25 +47,113 @@ import java.util.Map;
 public class AdminController {
 
     @Autowired
-    private AppointmentRepository appointmentRepository;
+    private DoctorRepository doctorRepository;
 
     @Autowired
-    private DoctorRepository doctorRepository;
+    private BCryptPasswordEncoder passwordEncoder;
 
     @Autowired
-    private UserRepository userRepository;
+    private DoctorService doctorService;
+
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private AppointmentSummaryService appointmentSummaryService;
 
     @Autowired
-    private PaymentRepository paymentRepository;
+    private DashboardService dashboardService;
 
     @Autowired
-    private DoctorService doctorService;
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private RevenueAggregationService revenueAggregationService;
+
+    @Autowired
+    private DoctorModerationService doctorModerationService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ReportExportService reportExportService;
 
     @GetMapping("/appointments")
-    public List<Appointment> allAppointments() {
-        return appointmentRepository.findAll();
+    public ResponseEntity<List<AppointmentSummary>> allAppointments(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int size) {
+        int pageSize = AppointmentSummaryService.pageSize(size);
+        List<AppointmentSummary> page = appointmentSummaryService.getPage(afterId, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() >= pageSize) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(page.size() - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(value = "/appointments/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAppointments() {
+        StreamingResponseBody body = appointmentSummaryService::writeNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/export/appointments")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(defaultValue = "CSV") ReportExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportRange range = exportRange(from, to);
+        StreamingResponseBody body = out ->
+                reportExportService.writeAppointments(range.from(), range.to(), doctorId, status, format, gzip, out);
+        return exportResponse("appointments", format, gzip, body);
+    }
+
+    @GetMapping("/export/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(defaultValue = "CSV") ReportExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportRange range = exportRange(from, to);
+        StreamingResponseBody body = out ->
+                reportExportService.writePayments(range.from(), range.to(), doctorId, status, format, gzip, out);
+        return exportResponse("payments", format, gzip, body);
+    }
+
+    private record ExportRange(LocalDate from, LocalDate to) {
+    }
+
+    // Defaults to the last 30 days; checked here so a bad range is a 400, not a broken download
+    private static ExportRange exportRange(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+        }
+        return new ExportRange(start, end);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ReportExportService.Format format,
+                                                                 boolean gzip, StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? new MediaType("application", "gzip") : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
 
     @GetMapping("/ping")
@@ -58,40 +167,87 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("Doctor not found"));
         doctor.setStatus(ApprovalStatus.APPROVED);
         doctorRepository.save(doctor);
+        availabilityService.indexDoctor(doctor);
+        doctorSearchService.index(doctor);
         return ResponseEntity.ok("Doctor approved successfully");
     }
 
+    @PutMapping("/approve-doctors")
+    public ResponseEntity<BulkModerationResponse> moderateDoctors(@RequestBody BulkModerationRequest request) {
+        ApprovalStatus status = request.getStatus() != null ? request.getStatus() : ApprovalStatus.APPROVED;
+        return ResponseEntity.ok(doctorModerationService.moderate(request.getIds(), status));
+    }
+
     @GetMapping("/pending")
-    public ResponseEntity<List<Doctor>> getPendingDoctors() {
-        List<Doctor> pendingDoctors = doctorRepository.findByStatus(ApprovalStatus.PENDING);
-        return ResponseEntity.ok(pendingDoctors);
+    public ResponseEntity<List<Doctor>> getPendingDoctors(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "OLDEST") DoctorModerationService.PendingSort sort) {
+        Page<Doctor> pendingDoctors = doctorModerationService.getPending(page, size, sort);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(pendingDoctors.getTotalElements()))
+                .body(pendingDoctors.getContent());
+    }
+
+    // Raw request body (text/csv or application/x-ndjson) so the upload is never buffered whole
+    @PostMapping("/import/doctors")
+    public ResponseEntity<BulkImportResponse> importDoctors(
+            @RequestParam(required = false) BulkImportService.Format format,
+            HttpServletRequest request) throws IOException {
+        BulkImportService.Format resolved = format != null ? format
+                : BulkImportService.Format.fromContentType(request.getContentType());
+        return ResponseEntity.ok(bulkImportService.importDoctors(request.getInputStream(), resolved));
+    }
+
+    @PostMapping("/import/patients")
+    public ResponseEntity<BulkImportResponse> importPatients(
+            @RequestParam(required = false) BulkImportService.Format format,
+            HttpServletRequest request) throws IOException {
+        BulkImportService.Format resolved = format != null ? format
+                : BulkImportService.Format.fromContentType(request.getContentType());
+        return ResponseEntity.ok(bulkImportService.importPatients(request.getInputStream(), resolved));
+    }
+
+    @GetMapping("/email-outbox")
+    public ResponseEntity<Map<String, Long>> emailOutbox() {
+        return ResponseEntity.ok(emailOutboxService.getQueueStats());
+    }
+
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Map<String, Long>>> cacheStats() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<String> evictCaches() {
+        entityCacheService.evictAll();
+        return ResponseEntity.ok("Caches cleared");
     }
 
     @GetMapping("/dashboard")
     public ResponseEntity<AdminDashboard> dashboard() {
-        AdminDashboard dto = new AdminDashboard();
-
-        dto.setTotalDoctors(doctorRepository.count());
-        dto.setPendingDoctors(doctorRepository.countByStatus(ApprovalStatus.PENDING));
-        dto.setTotalPatients(userRepository.countByRole(Role.USER));
-        dto.setTotalAppointments(appointmentRepository.count());
-
-        // Add payment stats
-        dto.setTotalPayments(paymentRepository.count());
-        Double totalAmount = paymentRepository.sumTotalAmount();
-        dto.setTotalAmountCollected(totalAmount != null ? totalAmount : 0.0);
-
-        Map<String, Long> dailyCounts = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
-        for (int i = 6; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            long count = appointmentRepository.countByDate(date);
-            dailyCounts.put(date.toString(), count);
-        }
-        dto.setDailyAppointments(dailyCounts);
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
 
-        return ResponseEntity.ok(dto);
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<DailyRevenue>> dailyRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= 366) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+        }
+        return ResponseEntity.ok(revenueAggregationService.getDailyRevenue(start, end));
     }
 
+    @GetMapping("/revenue/doctors")
+    public ResponseEntity<List<DoctorEarnings>> topEarners(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(revenueAggregationService.getTopEarners(Math.max(1, Math.min(limit, 100))));
+    }
 
+    @GetMapping("/revenue/doctors/{id}")
+    public ResponseEntity<DoctorEarnings> doctorEarnings(@PathVariable Long id) {
+        return ResponseEntity.ok(revenueAggregationService.getDoctorEarnings(id));
+    }
 }
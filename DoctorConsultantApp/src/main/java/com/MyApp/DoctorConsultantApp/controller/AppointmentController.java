@@ -1,7 +1,13 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
+import com.MyApp.DoctorConsultantApp.dto.AppointmentSummary;
 import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.service.AppointmentQueryService;
 import com.MyApp.DoctorConsultantApp.service.AppointmentService;
+import com.MyApp.DoctorConsultantApp.service.AppointmentSummaryService;
+import com.MyApp.DoctorConsultantApp.service.AvailabilityService;
+import com.MyApp.DoctorConsultantApp.service.SlotBookingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -19,31 +25,79 @@ public class AppointmentController {
     @Autowired
     private AppointmentService appointmentService;
 
+    @Autowired
+    private SlotBookingService slotBookingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private AppointmentQueryService appointmentQueryService;
+
+    @Autowired
+    private AppointmentSummaryService appointmentSummaryService;
+
     @PostMapping("/book")
     public ResponseEntity<Appointment> book(@RequestParam Long userId,
                                             @RequestParam Long doctorId,
                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
-        return ResponseEntity.ok(appointmentService.bookAppointment(userId, doctorId, date, time));
+        return ResponseEntity.ok(slotBookingService.book(userId, doctorId, date, time));
     }
 
     @GetMapping("/doctor/{doctorId}")
     public ResponseEntity<List<Appointment>> getDoctorAppointments(@PathVariable Long doctorId) {
-        return ResponseEntity.ok(appointmentService.getDoctorAppointments(doctorId));
+        return ResponseEntity.ok(appointmentQueryService.getDoctorAppointments(doctorId));
     }
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Appointment>> getUserAppointments(@PathVariable Long userId) {
-        return ResponseEntity.ok(appointmentService.getUserAppointments(userId));
+        return ResponseEntity.ok(appointmentQueryService.getUserAppointments(userId));
+    }
+
+    @GetMapping("/doctor/{doctorId}/timeline")
+    public ResponseEntity<List<AppointmentSummary>> getDoctorTimeline(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = AppointmentSummaryService.pageSize(size);
+        return timelinePage(appointmentSummaryService.getDoctorTimeline(doctorId, from, to, status, cursor, pageSize), pageSize);
+    }
+
+    @GetMapping("/user/{userId}/timeline")
+    public ResponseEntity<List<AppointmentSummary>> getUserTimeline(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = AppointmentSummaryService.pageSize(size);
+        return timelinePage(appointmentSummaryService.getUserTimeline(userId, from, to, status, cursor, pageSize), pageSize);
+    }
+
+    private ResponseEntity<List<AppointmentSummary>> timelinePage(List<AppointmentSummary> page, int pageSize) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() >= pageSize) {
+            response.header("X-Next-Cursor", AppointmentSummaryService.cursorOf(page.get(page.size() - 1)));
+        }
+        return response.body(page);
     }
 
     @PutMapping("/approve/{id}")
     public ResponseEntity<Appointment> approve(@PathVariable Long id) {
-        return ResponseEntity.ok(appointmentService.approveAppointment(id));
+        Appointment appointment = appointmentService.approveAppointment(id);
+        availabilityService.markBooked(appointment);
+        return ResponseEntity.ok(appointment);
     }
 
     @PutMapping("/complete/{id}")
     public ResponseEntity<Appointment> complete(@PathVariable Long id) {
-        return ResponseEntity.ok(appointmentService.completeAppointment(id));
+        Appointment appointment = appointmentService.completeAppointment(id);
+        availabilityService.markBooked(appointment);
+        return ResponseEntity.ok(appointment);
     }
 }
@@ -1,15 +1,25 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
+import com.MyApp.DoctorConsultantApp.dto.DayAvailability;
 import com.MyApp.DoctorConsultantApp.dto.DoctorProfileResponse;
 import com.MyApp.DoctorConsultantApp.dto.DoctorRegisterRequest;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchQuery;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchResult;
 import com.MyApp.DoctorConsultantApp.dto.LoginRequest;
 import com.MyApp.DoctorConsultantApp.dto.LoginResponse;
 import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.service.AvailabilityService;
+import com.MyApp.DoctorConsultantApp.service.DoctorSearchService;
 import com.MyApp.DoctorConsultantApp.service.DoctorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @RestController
@@ -20,9 +30,18 @@ public class DoctorController {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
     @PostMapping("/register")
     public ResponseEntity<Doctor> register(@RequestBody DoctorRegisterRequest request) {
-        return ResponseEntity.ok(doctorService.register(request));
+        Doctor doctor = doctorService.register(request);
+        availabilityService.indexDoctor(doctor);
+        doctorSearchService.index(doctor);
+        return ResponseEntity.ok(doctor);
     }
 
     @GetMapping("/profile/{id}")
@@ -32,7 +51,38 @@ public class DoctorController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Doctor>> search(@RequestParam String specialization) {
-        return ResponseEntity.ok(doctorService.findBySpecialization(specialization));
+    public ResponseEntity<List<DoctorSearchResult>> search(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) Double minFees,
+            @RequestParam(required = false) Double maxFees,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "RATING") DoctorSearchQuery.Sort sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        DoctorSearchQuery query = new DoctorSearchQuery(specialization, tags, gender, minFees, maxFees, minRating, sort);
+        List<DoctorSearchResult> results = doctorSearchService.search(query);
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        int fromIndex = (int) Math.min((long) Math.max(page, 0) * pageSize, results.size());
+        int toIndex = Math.min(fromIndex + pageSize, results.size());
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.size()))
+                .body(results.subList(fromIndex, toIndex));
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<List<DayAvailability>> availability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= AvailabilityService.MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "'to' must be on or after 'from' and within " + AvailabilityService.MAX_RANGE_DAYS + " days");
+        }
+        return ResponseEntity.ok(availabilityService.getAvailability(id, start, end));
     }
 }
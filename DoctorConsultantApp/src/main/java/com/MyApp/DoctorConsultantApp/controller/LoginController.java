@@ -1,68 +1,51 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
+import com.MyApp.DoctorConsultantApp.dto.Identity;
 import com.MyApp.DoctorConsultantApp.dto.LoginRequest;
 import com.MyApp.DoctorConsultantApp.dto.LoginResponse;
-import com.MyApp.DoctorConsultantApp.dto.Role;
-import com.MyApp.DoctorConsultantApp.model.User;
-import com.MyApp.DoctorConsultantApp.repository.DoctorRepository;
-import com.MyApp.DoctorConsultantApp.repository.UserRepository;
-import com.MyApp.DoctorConsultantApp.service.UserService;
-import com.MyApp.DoctorConsultantApp.service.DoctorService;
+import com.MyApp.DoctorConsultantApp.service.IdentityService;
+import com.MyApp.DoctorConsultantApp.service.PasswordVerificationService;
+import com.MyApp.DoctorConsultantApp.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
-
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
 public class LoginController {
 
     @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
-
-    @Autowired
-    private UserService userService;
+    private IdentityService identityService;
 
     @Autowired
-    private DoctorService doctorService;
+    private PasswordVerificationService passwordVerificationService;
 
     @Autowired
-    private DoctorRepository doctorRepository;
+    private TokenService tokenService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
 
-        // First check userRepository (for USER and ADMIN)
-        Optional<User> optionalUser = userRepository.findByEmail(request.getEmail());
-        if (optionalUser.isPresent()) {
-            User user = optionalUser.get();
+        Identity identity = identityService.findByEmail(request.getEmail())
+                .orElseThrow(() -> new RuntimeException("User or doctor not found with given email"));
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                throw new RuntimeException("Incorrect password");
-            }
+        if (!passwordVerificationService.matches(request.getPassword(), identity.getPasswordHash())) {
+            throw new RuntimeException("Incorrect password");
+        }
+        passwordVerificationService.rehashIfNeeded(identity, request.getPassword());
 
-            Role role = user.getRole();
-            LoginResponse response = switch (role) {
-                case USER -> userService.login(request);
-                case ADMIN -> new LoginResponse(user.getId(), user.getFullName(), user.getEmail(), "ADMIN", "N/A");
+        LoginResponse response = switch (identity.getSource()) {
+            case USER -> switch (identity.getRole()) {
+                case USER -> new LoginResponse(identity.getId(), identity.getFullName(), identity.getEmail(), "USER", "N/A");
+                case ADMIN -> new LoginResponse(identity.getId(), identity.getFullName(), identity.getEmail(), "ADMIN", "N/A");
                 default -> throw new RuntimeException("Invalid role in user table");
             };
+            case DOCTOR -> new LoginResponse(identity.getId(), identity.getFullName(), identity.getEmail(), "DOCTOR", identity.getStatus());
+        };
 
-            return ResponseEntity.ok(response);
-        }
-
-        // Then check doctorRepository
-        var doctorOpt = doctorRepository.findByEmail(request.getEmail());
-        if (doctorOpt.isPresent()) {
-            return ResponseEntity.ok(doctorService.doctorLogin(request));
-        }
-
-        throw new RuntimeException("User or doctor not found with given email");
+        response.setAccessToken(tokenService.issue(response.getId(), response.getRole()));
+        response.setExpiresIn(tokenService.getTtlSeconds());
+        return ResponseEntity.ok(response);
     }
 }
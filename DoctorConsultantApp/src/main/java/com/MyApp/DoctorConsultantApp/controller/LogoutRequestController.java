@@ -1,5 +1,10 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
+import com.MyApp.DoctorConsultantApp.config.TokenAuthenticationFilter;
+import com.MyApp.DoctorConsultantApp.service.TokenRevocationService;
+import com.MyApp.DoctorConsultantApp.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -9,9 +14,17 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/auth")
 public class LogoutRequestController {
 
-    @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
 
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(HttpServletRequest request) {
+        TokenAuthenticationFilter.extractToken(request)
+                .flatMap(tokenService::verify)
+                .ifPresent(tokenRevocationService::revoke);
         return ResponseEntity.ok("Logged out successfully.");
     }
 }
@@ -1,10 +1,17 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
+import com.MyApp.DoctorConsultantApp.config.NotificationAccess;
 import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.service.NotificationCounterService;
+import com.MyApp.DoctorConsultantApp.service.NotificationHub;
 import com.MyApp.DoctorConsultantApp.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,6 +23,15 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationHub notificationHub;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Autowired
+    private NotificationAccess notificationAccess;
+
     @GetMapping("/{recipientType}/{recipientId}")
     public ResponseEntity<List<Notification>> getNotifications(
             @PathVariable String recipientType,
@@ -24,8 +40,32 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getNotifications(recipientType, recipientId, unreadOnly));
     }
 
+    @GetMapping(value = "/{recipientType}/{recipientId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@notificationAccess.canAccess(authentication, #recipientType, #recipientId)")
+    public SseEmitter stream(@PathVariable String recipientType, @PathVariable Long recipientId) {
+        return notificationHub.subscribe(recipientType, recipientId);
+    }
+
+    @GetMapping("/{recipientType}/{recipientId}/unread-count")
+    @PreAuthorize("@notificationAccess.canAccess(authentication, #recipientType, #recipientId)")
+    public ResponseEntity<Long> unreadCount(@PathVariable String recipientType, @PathVariable Long recipientId) {
+        return ResponseEntity.ok(notificationCounterService.getUnreadCount(recipientType, recipientId));
+    }
+
     @PutMapping("/mark-as-read/{id}")
     public ResponseEntity<Notification> markAsRead(@PathVariable Long id) {
         return ResponseEntity.ok(notificationService.markAsRead(id));
     }
+
+    @PutMapping("/mark-as-read")
+    public ResponseEntity<Integer> markAsRead(@RequestBody List<Long> ids, Authentication authentication) {
+        return ResponseEntity.ok(notificationCounterService.markRead(ids,
+                (recipientType, recipientId) -> notificationAccess.canAccess(authentication, recipientType, recipientId)));
+    }
+
+    @PutMapping("/{recipientType}/{recipientId}/mark-all-read")
+    @PreAuthorize("@notificationAccess.canAccess(authentication, #recipientType, #recipientId)")
+    public ResponseEntity<Integer> markAllRead(@PathVariable String recipientType, @PathVariable Long recipientId) {
+        return ResponseEntity.ok(notificationCounterService.markAllRead(recipientType, recipientId));
+    }
 }
@@ -1,7 +1,7 @@
 package com.MyApp.DoctorConsultantApp.controller;
 
 import com.MyApp.DoctorConsultantApp.model.Payment;
-import com.MyApp.DoctorConsultantApp.service.PaymentService;
+import com.MyApp.DoctorConsultantApp.service.IdempotentPaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,10 +12,11 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     @Autowired
-    private PaymentService paymentService;
+    private IdempotentPaymentService idempotentPaymentService;
 
     @PutMapping("/pay/{appointmentId}")
-    public ResponseEntity<Payment> makePayment(@PathVariable Long appointmentId) {
-        return ResponseEntity.ok(paymentService.makePayment(appointmentId));
+    public ResponseEntity<Payment> makePayment(@PathVariable Long appointmentId,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotentPaymentService.pay(appointmentId, idempotencyKey));
     }
 }
@@ -0,0 +1,101 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class AppointmentSummary {
+
+    private final Long id;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final AppointmentStatus status;
+    private final boolean paid;
+    private final Long userId;
+    private final String userFullName;
+    private final String userGender;
+    private final Long doctorId;
+    private final String doctorFullName;
+    private final String doctorGender;
+    private final String doctorSpecialization;
+
+    public AppointmentSummary(Long id, LocalDate date, LocalTime time, AppointmentStatus status, boolean paid,
+                              Long userId, String userFullName, String userGender,
+                              Long doctorId, String doctorFullName, String doctorGender,
+                              String doctorSpecialization) {
+        this.id = id;
+        this.date = date;
+        this.time = time;
+        this.status = status;
+        this.paid = paid;
+        this.userId = userId;
+        this.userFullName = userFullName;
+        this.userGender = userGender;
+        this.doctorId = doctorId;
+        this.doctorFullName = doctorFullName;
+        this.doctorGender = doctorGender;
+        this.doctorSpecialization = doctorSpecialization;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserFullName() {
+        return userFullName;
+    }
+
+    public String getUserGender() {
+        return userGender;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorFullName() {
+        return doctorFullName;
+    }
+
+    public String getDoctorGender() {
+        return doctorGender;
+    }
+
+    public String getDoctorSpecialization() {
+        return doctorSpecialization;
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentSummary{" +
+                "id=" + id +
+                ", date=" + date +
+                ", time=" + time +
+                ", status=" + status +
+                ", paid=" + paid +
+                ", userId=" + userId +
+                ", doctorId=" + doctorId +
+                '}';
+    }
+}
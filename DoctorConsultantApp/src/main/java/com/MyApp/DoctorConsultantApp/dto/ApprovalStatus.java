@@ -2,5 +2,6 @@ package com.MyApp.DoctorConsultantApp.dto;
 
 public enum ApprovalStatus {
     PENDING,
-    APPROVED
+    APPROVED,
+    REJECTED
 }
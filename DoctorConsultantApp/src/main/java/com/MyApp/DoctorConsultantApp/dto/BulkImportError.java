@@ -0,0 +1,36 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+public class BulkImportError {
+
+    private final long line;
+    private final String email;
+    private final String message;
+
+    public BulkImportError(long line, String email, String message) {
+        this.line = line;
+        this.email = email;
+        this.message = message;
+    }
+
+    // 1-based line in the upload; for CSV the header is line 1
+    public long getLine() {
+        return line;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportError{" +
+                "line=" + line +
+                ", email='" + email + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import java.util.List;
+
+public class BulkImportResponse {
+
+    private final int processed;
+    private final int imported;
+    private final int failed;
+    private final List<BulkImportError> errors;
+
+    public BulkImportResponse(int processed, int imported, int failed, List<BulkImportError> errors) {
+        this.processed = processed;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    // Capped, so it can hold fewer entries than failed
+    public List<BulkImportError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportResponse{" +
+                "processed=" + processed +
+                ", imported=" + imported +
+                ", failed=" + failed +
+                ", errors=" + errors.size() +
+                '}';
+    }
+}
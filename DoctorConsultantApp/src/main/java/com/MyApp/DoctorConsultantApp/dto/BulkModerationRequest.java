@@ -0,0 +1,31 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import java.util.List;
+
+public class BulkModerationRequest {
+
+    private List<Long> ids;
+    private ApprovalStatus status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public ApprovalStatus getStatus() {
+        return status;
+    }
+    public void setStatus(ApprovalStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkModerationRequest{" +
+                "ids=" + ids +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+public class BulkModerationResponse {
+
+    private final int requested;
+    private final int updated;
+    private final ApprovalStatus status;
+
+    public BulkModerationResponse(int requested, int updated, ApprovalStatus status) {
+        this.requested = requested;
+        this.updated = updated;
+        this.status = status;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    // Ids that were not pending (or do not exist) are skipped, so this can be lower than requested
+    public int getUpdated() {
+        return updated;
+    }
+
+    public ApprovalStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkModerationResponse{" +
+                "requested=" + requested +
+                ", updated=" + updated +
+                ", status=" + status +
+                '}';
+    }
+}
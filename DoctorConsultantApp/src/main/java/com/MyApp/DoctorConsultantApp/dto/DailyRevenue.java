@@ -0,0 +1,37 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import java.time.LocalDate;
+
+public class DailyRevenue {
+
+    private final LocalDate date;
+    private final double amount;
+    private final long payments;
+
+    public DailyRevenue(LocalDate date, double amount, long payments) {
+        this.date = date;
+        this.amount = amount;
+        this.payments = payments;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyRevenue{" +
+                "date=" + date +
+                ", amount=" + amount +
+                ", payments=" + payments +
+                '}';
+    }
+}
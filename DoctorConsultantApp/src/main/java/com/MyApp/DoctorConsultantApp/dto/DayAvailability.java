@@ -0,0 +1,32 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class DayAvailability {
+
+    private final LocalDate date;
+    private final List<LocalTime> freeSlots;
+
+    public DayAvailability(LocalDate date, List<LocalTime> freeSlots) {
+        this.date = date;
+        this.freeSlots = freeSlots;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<LocalTime> getFreeSlots() {
+        return freeSlots;
+    }
+
+    @Override
+    public String toString() {
+        return "DayAvailability{" +
+                "date=" + date +
+                ", freeSlots=" + freeSlots +
+                '}';
+    }
+}
@@ -0,0 +1,35 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+public class DoctorEarnings {
+
+    private final Long doctorId;
+    private final double amount;
+    private final long payments;
+
+    public DoctorEarnings(Long doctorId, double amount, long payments) {
+        this.doctorId = doctorId;
+        this.amount = amount;
+        this.payments = payments;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorEarnings{" +
+                "doctorId=" + doctorId +
+                ", amount=" + amount +
+                ", payments=" + payments +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// Equal queries share one cached result list, so values are normalized on construction
+public class DoctorSearchQuery {
+
+    public enum Sort {
+        RATING, FEES, FEES_DESC
+    }
+
+    private final String specialization;
+    private final List<String> tags;
+    private final String gender;
+    private final Double minFees;
+    private final Double maxFees;
+    private final Double minRating;
+    private final Sort sort;
+
+    public DoctorSearchQuery(String specialization, List<String> tags, String gender,
+                             Double minFees, Double maxFees, Double minRating, Sort sort) {
+        this.specialization = normalize(specialization);
+        this.tags = tags == null ? List.of() : tags.stream()
+                .map(DoctorSearchQuery::normalize)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toList();
+        this.gender = normalize(gender);
+        this.minFees = minFees;
+        this.maxFees = maxFees;
+        this.minRating = minRating;
+        this.sort = sort != null ? sort : Sort.RATING;
+    }
+
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Double getMinFees() {
+        return minFees;
+    }
+
+    public Double getMaxFees() {
+        return maxFees;
+    }
+
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DoctorSearchQuery that)) return false;
+        return Objects.equals(specialization, that.specialization)
+                && tags.equals(that.tags)
+                && Objects.equals(gender, that.gender)
+                && Objects.equals(minFees, that.minFees)
+                && Objects.equals(maxFees, that.maxFees)
+                && Objects.equals(minRating, that.minRating)
+                && sort == that.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(specialization, tags, gender, minFees, maxFees, minRating, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "DoctorSearchQuery{" +
+                "specialization='" + specialization + '\'' +
+                ", tags=" + tags +
+                ", gender='" + gender + '\'' +
+                ", minFees=" + minFees +
+                ", maxFees=" + maxFees +
+                ", minRating=" + minRating +
+                ", sort=" + sort +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+
+import java.util.List;
+
+public class DoctorSearchResult {
+
+    private final Long id;
+    private final String fullName;
+    private final String gender;
+    private final String specialization;
+    private final String qualification;
+    private final double fees;
+    private final double rating;
+    private final List<String> tags;
+
+    public DoctorSearchResult(Doctor doctor) {
+        this.id = doctor.getId();
+        this.fullName = doctor.getFullName();
+        this.gender = doctor.getGender();
+        this.specialization = doctor.getSpecialization();
+        this.qualification = doctor.getQualification();
+        this.fees = doctor.getFees();
+        this.rating = doctor.getRating();
+        this.tags = doctor.getTags() != null ? List.copyOf(doctor.getTags()) : List.of();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public String getQualification() {
+        return qualification;
+    }
+
+    public double getFees() {
+        return fees;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+}
@@ -0,0 +1,65 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+public class Identity {
+
+    public enum Source {
+        USER, DOCTOR
+    }
+
+    private final Source source;
+    private final Long id;
+    private final String fullName;
+    private final String email;
+    private final String passwordHash;
+    private final Role role;
+    private final String status;
+
+    public Identity(Source source, Long id, String fullName, String email, String passwordHash, Role role, String status) {
+        this.source = source;
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.role = role;
+        this.status = status;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "Identity{" +
+                "source=" + source +
+                ", id=" + id +
+                ", email='" + email + '\'' +
+                ", role=" + role +
+                ", status='" + status + '\'' +
+                '}';
+    }
+}
@@ -7,6 +7,8 @@ public class LoginResponse {
     private String email;
     private String role;
     private String status;
+    private String accessToken;
+    private long expiresIn;
 
     public Long getId() {
         return id;
@@ -43,6 +45,20 @@ public class LoginResponse {
         this.status = status;
     }
 
+    public String getAccessToken() {
+        return accessToken;
+    }
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public LoginResponse(Long id, String fullName, String email, String role, String status) {
         this.id = id;
         this.fullName = fullName;
@@ -0,0 +1,100 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public class PaymentExportRow {
+
+    private final Long id;
+    private final LocalDateTime paymentDate;
+    private final double amount;
+    private final Long appointmentId;
+    private final LocalDate appointmentDate;
+    private final LocalTime appointmentTime;
+    private final AppointmentStatus appointmentStatus;
+    private final Long userId;
+    private final String userFullName;
+    private final Long doctorId;
+    private final String doctorFullName;
+    private final String doctorSpecialization;
+
+    public PaymentExportRow(Long id, LocalDateTime paymentDate, double amount,
+                            Long appointmentId, LocalDate appointmentDate, LocalTime appointmentTime,
+                            AppointmentStatus appointmentStatus, Long userId, String userFullName,
+                            Long doctorId, String doctorFullName, String doctorSpecialization) {
+        this.id = id;
+        this.paymentDate = paymentDate;
+        this.amount = amount;
+        this.appointmentId = appointmentId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.appointmentStatus = appointmentStatus;
+        this.userId = userId;
+        this.userFullName = userFullName;
+        this.doctorId = doctorId;
+        this.doctorFullName = doctorFullName;
+        this.doctorSpecialization = doctorSpecialization;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getPaymentDate() {
+        return paymentDate;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public AppointmentStatus getAppointmentStatus() {
+        return appointmentStatus;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserFullName() {
+        return userFullName;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorFullName() {
+        return doctorFullName;
+    }
+
+    public String getDoctorSpecialization() {
+        return doctorSpecialization;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentExportRow{" +
+                "id=" + id +
+                ", paymentDate=" + paymentDate +
+                ", amount=" + amount +
+                ", appointmentId=" + appointmentId +
+                ", doctorId=" + doctorId +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.MyApp.DoctorConsultantApp.dto;
+
+public class TokenClaims {
+
+    private final Long subjectId;
+    private final String role;
+    private final String tokenId;
+    private final long expiresAtEpochSecond;
+
+    public TokenClaims(Long subjectId, String role, String tokenId, long expiresAtEpochSecond) {
+        this.subjectId = subjectId;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.expiresAtEpochSecond = expiresAtEpochSecond;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public long getExpiresAtEpochSecond() {
+        return expiresAtEpochSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenClaims{" +
+                "subjectId=" + subjectId +
+                ", role='" + role + '\'' +
+                ", tokenId='" + tokenId + '\'' +
+                ", expiresAtEpochSecond=" + expiresAtEpochSecond +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.MyApp.DoctorConsultantApp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotAlreadyBookedException extends RuntimeException {
+
+    public SlotAlreadyBookedException(Long doctorId, LocalDate date, LocalTime time) {
+        super("Slot already booked for doctor " + doctorId + " on " + date + " at " + time);
+    }
+}
@@ -1,21 +1,31 @@
 package com.MyApp.DoctorConsultantApp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+// Slot uniqueness ignores expired appointments, so it lives in the migrations as the
+// partial unique index uk_appointment_doctor_slot; this index mirrors its columns
+@Table(indexes = {
+        @Index(name = "idx_appointment_doctor_slot", columnList = "doctor_id, date, time"),
+        @Index(name = "idx_appointment_user_date", columnList = "user_id, date")})
 public class Appointment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Doctor doctor;
 
     private LocalDate date;
@@ -26,8 +36,18 @@ public class Appointment {
 
     private boolean paid;
 
+    // Optimistic lock so concurrent payments cannot both flip the paid flag
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Unapproved bookings older than app.appointments.pending-ttl-hours are expired
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
     public enum AppointmentStatus {
-        PENDING, APPROVED, COMPLETED
+        PENDING, APPROVED, COMPLETED, EXPIRED
     }
 
     public Long getId() {
@@ -79,12 +99,26 @@ public class Appointment {
         this.paid = paid;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
     @Override
     public String toString() {
         return "Appointment{" +
                 "id=" + id +
-                ", user=" + user +
-                ", doctor=" + doctor +
+                ", userId=" + (user != null ? user.getId() : null) +
+                ", doctorId=" + (doctor != null ? doctor.getId() : null) +
                 ", date=" + date +
                 ", time=" + time +
                 ", status=" + status +
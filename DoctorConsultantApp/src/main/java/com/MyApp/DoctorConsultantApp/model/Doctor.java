@@ -3,15 +3,22 @@ package com.MyApp.DoctorConsultantApp.model;
 import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
 import com.MyApp.DoctorConsultantApp.dto.Role;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
-@Table(name = "doctors")
+@Table(name = "doctors", indexes = @Index(name = "idx_doctors_email", columnList = "email"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor")
 public class Doctor {
 
+    // Sequence ids let Hibernate batch inserts; identity columns force one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctors_seq")
+    @SequenceGenerator(name = "doctors_seq", sequenceName = "doctors_seq", allocationSize = 50)
     private Long id;
 
     private String fullName;
@@ -31,9 +38,13 @@ public class Doctor {
     private ApprovalStatus status = ApprovalStatus.PENDING;
 
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor-tags")
     private List<String> tags;
 
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor-schedules")
     private List<String> schedules;
 
     public Long getId() {
@@ -0,0 +1,117 @@
+package com.MyApp.DoctorConsultantApp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String recipient;
+    private String subject;
+
+    @Column(length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum DeliveryStatus {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+    public void setStatus(DeliveryStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "EmailOutboxMessage{" +
+                "id=" + id +
+                ", recipient='" + recipient + '\'' +
+                ", subject='" + subject + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                '}';
+    }
+}
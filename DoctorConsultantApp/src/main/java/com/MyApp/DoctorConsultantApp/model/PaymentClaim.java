@@ -0,0 +1,72 @@
+package com.MyApp.DoctorConsultantApp.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// The unique appointment id makes a second charge impossible whichever instance handles the retry
+@Entity
+@Table(name = "payment_claim", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_claim_appointment", columnNames = "appointment_id"),
+        @UniqueConstraint(name = "uk_payment_claim_key", columnNames = "idempotency_key")
+})
+public class PaymentClaim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    private Long paymentId;
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+    public void setPaymentId(Long paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentClaim{" +
+                "id=" + id +
+                ", appointmentId=" + appointmentId +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                ", paymentId=" + paymentId +
+                '}';
+    }
+}
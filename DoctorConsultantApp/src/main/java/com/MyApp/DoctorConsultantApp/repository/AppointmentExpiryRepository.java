@@ -0,0 +1,41 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+// Status and paid are literals so PostgreSQL can match the partial indexes over unpaid pending rows
+public interface AppointmentExpiryRepository extends Repository<Appointment, Long> {
+
+    String STALE = "a.status = com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus.PENDING " +
+            "AND a.paid = false ";
+
+    // Lock timeout -2 renders as FOR UPDATE SKIP LOCKED, so instances never claim the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM Appointment a WHERE " + STALE +
+            "AND (a.date < :today OR (a.date = :today AND a.time <= :now)) ORDER BY a.date, a.time")
+    List<Appointment> claimPastSlots(@Param("today") LocalDate today, @Param("now") LocalTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM Appointment a WHERE " + STALE + "AND a.createdAt < :cutoff ORDER BY a.createdAt")
+    List<Appointment> claimAbandoned(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    // Each row is [appointmentId, userId, userEmail, userFullName, doctorFullName]
+    @Query("SELECT a.id, u.id, u.email, u.fullName, d.fullName " +
+            "FROM Appointment a JOIN a.user u JOIN a.doctor d WHERE a.id IN :ids")
+    List<Object[]> findRecipients(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+public interface AppointmentGraphRepository extends Repository<Appointment, Long> {
+
+    @EntityGraph(attributePaths = {"user", "doctor"})
+    List<Appointment> findByDoctorIdOrderByDateAscTimeAsc(Long doctorId);
+
+    @EntityGraph(attributePaths = {"user", "doctor"})
+    List<Appointment> findByUserIdOrderByDateAscTimeAsc(Long userId);
+}
@@ -0,0 +1,22 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface AppointmentSlotRepository extends Repository<Appointment, Long> {
+
+    boolean existsByDoctorIdAndDateAndTimeAndStatusNot(Long doctorId, LocalDate date, LocalTime time,
+                                                      AppointmentStatus status);
+
+    // Each row is [doctorId, date, time]
+    @Query("SELECT a.doctor.id, a.date, a.time FROM Appointment a WHERE a.date >= :from " +
+            "AND a.status <> com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus.EXPIRED")
+    List<Object[]> findBookedSlotsFrom(@Param("from") LocalDate from);
+}
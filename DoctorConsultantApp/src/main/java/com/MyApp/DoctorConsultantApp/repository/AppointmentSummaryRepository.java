@@ -0,0 +1,76 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.dto.AppointmentSummary;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AppointmentSummaryRepository extends Repository<Appointment, Long> {
+
+    // Keyset over (date, time, id); the bounds on a.date keep the scan inside the composite index
+    String TIMELINE_AFTER = "AND a.date <= :to AND a.status IN :statuses " +
+            "AND (a.date > :afterDate OR (a.date = :afterDate AND " +
+            "(a.time > :afterTime OR (a.time = :afterTime AND a.id > :afterId)))) " +
+            "ORDER BY a.date, a.time, a.id";
+
+    String SUMMARY_SELECT = "SELECT new com.MyApp.DoctorConsultantApp.dto.AppointmentSummary(" +
+            "a.id, a.date, a.time, a.status, a.paid, " +
+            "u.id, u.fullName, u.gender, " +
+            "d.id, d.fullName, d.gender, d.specialization) " +
+            "FROM Appointment a JOIN a.user u JOIN a.doctor d ";
+
+    @Query(SUMMARY_SELECT + "WHERE a.id > :afterId ORDER BY a.id")
+    List<AppointmentSummary> findPageAfter(@Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.doctor.id = :doctorId AND a.date >= :from " + TIMELINE_AFTER)
+    List<AppointmentSummary> findDoctorTimeline(@Param("doctorId") Long doctorId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to,
+                                                @Param("statuses") Collection<AppointmentStatus> statuses,
+                                                @Param("afterDate") LocalDate afterDate,
+                                                @Param("afterTime") LocalTime afterTime,
+                                                @Param("afterId") long afterId,
+                                                Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.user.id = :userId AND a.date >= :from " + TIMELINE_AFTER)
+    List<AppointmentSummary> findUserTimeline(@Param("userId") Long userId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              @Param("statuses") Collection<AppointmentStatus> statuses,
+                                              @Param("afterDate") LocalDate afterDate,
+                                              @Param("afterTime") LocalTime afterTime,
+                                              @Param("afterId") long afterId,
+                                              Limit limit);
+
+    // Must be consumed inside a read-only transaction so the driver keeps a server-side cursor open.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT + "ORDER BY a.id")
+    Stream<AppointmentSummary> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT + "WHERE a.date >= :from AND a.date <= :to " +
+            "AND (:doctorId IS NULL OR a.doctor.id = :doctorId) AND a.status IN :statuses " +
+            "ORDER BY a.date, a.time, a.id")
+    Stream<AppointmentSummary> streamForExport(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("doctorId") Long doctorId,
+                                               @Param("statuses") Collection<AppointmentStatus> statuses);
+}
@@ -0,0 +1,43 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface DoctorQueryRepository extends Repository<Doctor, Long> {
+
+    // Each row is [doctorId, schedule]
+    @Query("SELECT d.id, s FROM Doctor d JOIN d.schedules s")
+    List<Object[]> findAllSchedules();
+
+    // Approved listings change only on moderation, which invalidates this through the doctors table
+    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.tags WHERE d.status = :status")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "doctor-listings")
+    })
+    List<Doctor> findWithTagsByStatus(@Param("status") ApprovalStatus status);
+
+    @Query("SELECT DISTINCT d FROM Doctor d LEFT JOIN FETCH d.tags WHERE d.id IN :ids")
+    List<Doctor> findWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    Page<Doctor> findByStatus(ApprovalStatus status, Pageable pageable);
+
+    // Only moves doctors out of `from`, so repeated or concurrent batches cannot flip a decision
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Doctor d SET d.status = :to WHERE d.id IN :ids AND d.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") ApprovalStatus from,
+                     @Param("to") ApprovalStatus to);
+}
@@ -0,0 +1,30 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage;
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Lock timeout -2 renders as FOR UPDATE SKIP LOCKED, so instances never claim the same rows.
+    // For SENDING rows nextAttemptAt is the lease expiry, so an abandoned send is picked up again.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m " +
+            "WHERE m.status IN (com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus.PENDING, " +
+            "com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus.SENDING) " +
+            "AND m.nextAttemptAt <= :now ORDER BY m.nextAttemptAt")
+    List<EmailOutboxMessage> claimDue(@Param("now") LocalDateTime now, Limit limit);
+
+    long countByStatus(DeliveryStatus status);
+}
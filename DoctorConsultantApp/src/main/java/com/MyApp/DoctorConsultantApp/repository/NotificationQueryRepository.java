@@ -0,0 +1,30 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationQueryRepository extends Repository<Notification, Long> {
+
+    @Query("SELECT COUNT(n) FROM Notification n " +
+            "WHERE n.recipientType = :recipientType AND n.recipientId = :recipientId AND n.read = false")
+    long countUnread(@Param("recipientType") String recipientType, @Param("recipientId") Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true " +
+            "WHERE n.recipientType = :recipientType AND n.recipientId = :recipientId AND n.read = false")
+    int markAllRead(@Param("recipientType") String recipientType, @Param("recipientId") Long recipientId);
+
+    // Each row is [recipientType, recipientId]
+    @Query("SELECT DISTINCT n.recipientType, n.recipientId FROM Notification n WHERE n.id IN :ids AND n.read = false")
+    List<Object[]> findUnreadRecipients(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id IN :ids AND n.read = false")
+    int markRead(@Param("ids") Collection<Long> ids);
+}
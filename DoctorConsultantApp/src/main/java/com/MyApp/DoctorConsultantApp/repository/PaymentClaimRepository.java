@@ -0,0 +1,13 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.model.PaymentClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PaymentClaimRepository extends JpaRepository<PaymentClaim, Long> {
+
+    Optional<PaymentClaim> findByAppointmentId(Long appointmentId);
+
+    Optional<PaymentClaim> findByIdempotencyKey(String idempotencyKey);
+}
@@ -0,0 +1,35 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.dto.PaymentExportRow;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface PaymentExportRepository extends Repository<Payment, Long> {
+
+    // Must be consumed inside a read-only transaction so the driver keeps a server-side cursor open.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.MyApp.DoctorConsultantApp.dto.PaymentExportRow(" +
+            "p.id, p.paymentDate, p.amount, a.id, a.date, a.time, a.status, " +
+            "u.id, u.fullName, d.id, d.fullName, d.specialization) " +
+            "FROM Payment p JOIN p.appointment a JOIN a.user u JOIN a.doctor d " +
+            "WHERE p.paymentDate >= :from AND p.paymentDate < :to " +
+            "AND (:doctorId IS NULL OR a.doctor.id = :doctorId) AND a.status IN :statuses " +
+            "ORDER BY p.paymentDate, p.id")
+    Stream<PaymentExportRow> streamForExport(@Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("doctorId") Long doctorId,
+                                             @Param("statuses") Collection<AppointmentStatus> statuses);
+}
@@ -0,0 +1,134 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentExpiryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class AppointmentExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentExpiryService.class);
+
+    public static final String RECIPIENT_TYPE = "USER";
+
+    @Autowired
+    private AppointmentExpiryRepository appointmentExpiryRepository;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.appointments.pending-ttl-hours:48}")
+    private long pendingTtlHours;
+
+    @Value("${app.appointments.expiry-batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.appointments.expiry-max-batches:50}")
+    private int maxBatches;
+
+    private final Counter expired;
+
+    public AppointmentExpiryService(MeterRegistry meterRegistry) {
+        this.expired = Counter.builder("appointments.expired")
+                .description("Pending unpaid appointments expired by the scheduler")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.appointments.expiry-interval-ms:300000}",
+            initialDelayString = "${app.appointments.expiry-initial-delay-ms:60000}")
+    public void expireStale() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<Appointment> batch = tx.execute(status -> expireBatch());
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            // Only after commit: a rolled-back batch must keep its slots booked
+            for (Appointment appointment : batch) {
+                availabilityService.release(appointment.getDoctor().getId(), appointment.getDate(), appointment.getTime());
+            }
+            total += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            expired.increment(total);
+            log.info("Expired {} pending unpaid appointments", total);
+        }
+    }
+
+    private List<Appointment> expireBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        // A row can match both claims; our own locks do not make SKIP LOCKED skip it
+        Map<Long, Appointment> claimed = new LinkedHashMap<>();
+        appointmentExpiryRepository.claimPastSlots(now.toLocalDate(), now.toLocalTime(), Limit.of(batchSize))
+                .forEach(a -> claimed.put(a.getId(), a));
+        if (claimed.size() < batchSize) {
+            appointmentExpiryRepository.claimAbandoned(now.minusHours(pendingTtlHours), Limit.of(batchSize - claimed.size()))
+                    .forEach(a -> claimed.putIfAbsent(a.getId(), a));
+        }
+        if (claimed.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Version bump makes a concurrent approval of the same row fail instead of resurrecting it
+        claimed.values().forEach(a -> a.setStatus(AppointmentStatus.EXPIRED));
+
+        for (Object[] row : appointmentExpiryRepository.findRecipients(claimed.keySet())) {
+            Appointment appointment = claimed.get((Long) row[0]);
+            notifyPatient(appointment, (Long) row[1], (String) row[2], (String) row[3], (String) row[4]);
+        }
+        return new ArrayList<>(claimed.values());
+    }
+
+    private void notifyPatient(Appointment appointment, Long userId, String email, String fullName, String doctorName) {
+        String text = "Your appointment request with " + doctorName + " on " + appointment.getDate() +
+                " at " + appointment.getTime() + " was not approved in time and has expired. " +
+                "Please book another slot.";
+
+        Notification notification = new Notification();
+        notification.setRecipientType(RECIPIENT_TYPE);
+        notification.setRecipientId(userId);
+        notification.setMessage(text);
+        notification.setRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(notification);
+
+        // Joins this transaction, so the email is only sent if the expiry commits
+        if (email != null && !email.isBlank()) {
+            emailOutboxService.enqueue(email, "Appointment request expired", "Hello " + fullName + ",\n\n" + text);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentGraphRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AppointmentQueryService {
+
+    @Autowired
+    private AppointmentGraphRepository appointmentGraphRepository;
+
+    @Transactional(readOnly = true)
+    public List<Appointment> getDoctorAppointments(Long doctorId) {
+        return withDoctorCollections(appointmentGraphRepository.findByDoctorIdOrderByDateAscTimeAsc(doctorId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Appointment> getUserAppointments(Long userId) {
+        return withDoctorCollections(appointmentGraphRepository.findByUserIdOrderByDateAscTimeAsc(userId));
+    }
+
+    // @BatchSize on the collections loads up to 50 doctors' worth per select
+    private static List<Appointment> withDoctorCollections(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            Doctor doctor = appointment.getDoctor();
+            if (doctor != null) {
+                Hibernate.initialize(doctor.getTags());
+                Hibernate.initialize(doctor.getSchedules());
+            }
+        }
+        return appointments;
+    }
+}
@@ -0,0 +1,137 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.AppointmentSummary;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentSummaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class AppointmentSummaryService {
+
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_TIMELINE_DAYS = 366;
+
+    @Autowired
+    private AppointmentSummaryRepository appointmentSummaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public List<AppointmentSummary> getPage(Long afterId, int size) {
+        long cursor = afterId != null ? afterId : 0L;
+        return appointmentSummaryRepository.findPageAfter(cursor, Limit.of(pageSize(size)));
+    }
+
+    // cursor is cursorOf() of the previous page's last row
+    public List<AppointmentSummary> getDoctorTimeline(Long doctorId, LocalDate from, LocalDate to,
+                                                      Collection<AppointmentStatus> statuses,
+                                                      String cursor, int size) {
+        Timeline t = new Timeline(from, to, statuses, cursor, size);
+        return appointmentSummaryRepository.findDoctorTimeline(doctorId, t.from, t.to, t.statuses,
+                t.afterDate, t.afterTime, t.afterId, Limit.of(t.size));
+    }
+
+    public List<AppointmentSummary> getUserTimeline(Long userId, LocalDate from, LocalDate to,
+                                                    Collection<AppointmentStatus> statuses,
+                                                    String cursor, int size) {
+        Timeline t = new Timeline(from, to, statuses, cursor, size);
+        return appointmentSummaryRepository.findUserTimeline(userId, t.from, t.to, t.statuses,
+                t.afterDate, t.afterTime, t.afterId, Limit.of(t.size));
+    }
+
+    public static int pageSize(int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public static String cursorOf(AppointmentSummary row) {
+        return row.getDate() + "_" + row.getTime() + "_" + row.getId();
+    }
+
+    public void writeNdjson(OutputStream outputStream) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream, 16 * 1024);
+            try (Stream<AppointmentSummary> rows = appointmentSummaryRepository.streamAll()) {
+                rows.forEach(row -> writeLine(out, row));
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeLine(OutputStream out, AppointmentSummary row) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Timeline {
+        final LocalDate from;
+        final LocalDate to;
+        final Collection<AppointmentStatus> statuses;
+        final LocalDate afterDate;
+        final LocalTime afterTime;
+        final long afterId;
+        final int size;
+
+        Timeline(LocalDate from, LocalDate to, Collection<AppointmentStatus> statuses, String cursor, int size) {
+            this.from = from != null ? from : LocalDate.now();
+            this.to = to != null ? to : this.from.plusDays(MAX_TIMELINE_DAYS);
+            if (this.from.isAfter(this.to) || ChronoUnit.DAYS.between(this.from, this.to) > MAX_TIMELINE_DAYS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+            }
+            this.statuses = statuses != null && !statuses.isEmpty()
+                    ? statuses : EnumSet.allOf(AppointmentStatus.class);
+            this.size = pageSize(size);
+            if (cursor == null || cursor.isBlank()) {
+                // Sorts before every slot on the first day, so the keyset predicate is a no-op
+                this.afterDate = this.from;
+                this.afterTime = LocalTime.MIN;
+                this.afterId = 0L;
+                return;
+            }
+            String[] parts = cursor.split("_", 3);
+            try {
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException();
+                }
+                this.afterDate = LocalDate.parse(parts[0]);
+                this.afterTime = LocalTime.parse(parts[1]);
+                this.afterId = Long.parseLong(parts[2]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+}
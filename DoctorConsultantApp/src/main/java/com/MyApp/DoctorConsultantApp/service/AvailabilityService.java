@@ -0,0 +1,187 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.DayAvailability;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentSlotRepository;
+import com.MyApp.DoctorConsultantApp.repository.DoctorQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// A slot is free unless an appointment starts at exactly that time, the rule bookings are checked against
+@Service
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    public static final int MAX_RANGE_DAYS = 62;
+
+    private static final Pattern SCHEDULE_PATTERN = Pattern.compile(
+            "^\\s*([A-Za-z]+)\\s+(\\d{1,2})(?::00)?\\s*(AM|PM)\\s*-\\s*(\\d{1,2})(?::00)?\\s*(AM|PM)\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private DoctorQueryRepository doctorQueryRepository;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    // doctorId -> weekly hour masks indexed by DayOfWeek.ordinal()
+    private final ConcurrentMap<Long, int[]> weeklySlots = new ConcurrentHashMap<>();
+
+    // doctorId -> date -> booked start times; the sets are immutable and replaced on change
+    private final ConcurrentMap<Long, ConcurrentMap<LocalDate, Set<LocalTime>>> bookedSlots = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, List<String>> schedulesByDoctor = new HashMap<>();
+        for (Object[] row : doctorQueryRepository.findAllSchedules()) {
+            schedulesByDoctor.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        weeklySlots.clear();
+        schedulesByDoctor.forEach((doctorId, schedules) -> weeklySlots.put(doctorId, parseSchedules(schedules)));
+
+        bookedSlots.clear();
+        for (Object[] row : appointmentSlotRepository.findBookedSlotsFrom(LocalDate.now())) {
+            markBooked((Long) row[0], (LocalDate) row[1], (LocalTime) row[2]);
+        }
+        log.info("Availability index built for {} doctors", weeklySlots.size());
+    }
+
+    public void indexDoctor(Doctor doctor) {
+        if (doctor != null && doctor.getId() != null) {
+            weeklySlots.put(doctor.getId(), parseSchedules(doctor.getSchedules()));
+        }
+    }
+
+    public void markBooked(Appointment appointment) {
+        if (appointment != null && appointment.getDoctor() != null) {
+            markBooked(appointment.getDoctor().getId(), appointment.getDate(), appointment.getTime());
+        }
+    }
+
+    public void markBooked(Long doctorId, LocalDate date, LocalTime time) {
+        if (doctorId == null || date == null || time == null) {
+            return;
+        }
+        bookedSlots.computeIfAbsent(doctorId, id -> new ConcurrentHashMap<>())
+                .merge(date, Set.of(time), (booked, added) -> {
+                    Set<LocalTime> times = new HashSet<>(booked);
+                    times.addAll(added);
+                    return Set.copyOf(times);
+                });
+    }
+
+    public void release(Long doctorId, LocalDate date, LocalTime time) {
+        ConcurrentMap<LocalDate, Set<LocalTime>> byDate = bookedSlots.get(doctorId);
+        if (byDate == null || date == null || time == null) {
+            return;
+        }
+        byDate.computeIfPresent(date, (d, booked) -> {
+            Set<LocalTime> times = new HashSet<>(booked);
+            times.remove(time);
+            return times.isEmpty() ? null : Set.copyOf(times);
+        });
+    }
+
+    public List<DayAvailability> getAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        int[] weekly = weeklySlots.get(doctorId);
+        Map<LocalDate, Set<LocalTime>> booked = bookedSlots.get(doctorId);
+        if (booked == null) {
+            booked = Collections.emptyMap();
+        }
+
+        List<DayAvailability> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<LocalTime> free = toTimes(weekly != null ? weekly[date.getDayOfWeek().ordinal()] : 0);
+            free.removeIf(booked.getOrDefault(date, Set.of())::contains);
+            days.add(new DayAvailability(date, free));
+        }
+        return days;
+    }
+
+    @Scheduled(cron = "${app.availability.prune-cron:0 5 0 * * *}")
+    public void pruneExpiredDates() {
+        LocalDate today = LocalDate.now();
+        for (ConcurrentMap<LocalDate, Set<LocalTime>> byDate : bookedSlots.values()) {
+            byDate.keySet().removeIf(date -> date.isBefore(today));
+        }
+    }
+
+    static int[] parseSchedules(Collection<String> schedules) {
+        int[] weekly = new int[7];
+        if (schedules == null) {
+            return weekly;
+        }
+        for (String schedule : schedules) {
+            Matcher m = schedule != null ? SCHEDULE_PATTERN.matcher(schedule) : null;
+            if (m == null || !m.matches()) {
+                log.debug("Skipping unparseable schedule '{}'", schedule);
+                continue;
+            }
+            DayOfWeek day = parseDay(m.group(1));
+            if (day == null) {
+                continue;
+            }
+            int start = to24Hour(Integer.parseInt(m.group(2)), m.group(3));
+            int end = to24Hour(Integer.parseInt(m.group(4)), m.group(5));
+            if (end == 0) {
+                end = 24;
+            }
+            for (int hour = start; hour < end && hour < 24; hour++) {
+                weekly[day.ordinal()] |= 1 << hour;
+            }
+        }
+        return weekly;
+    }
+
+    private static DayOfWeek parseDay(String value) {
+        String prefix = value.length() >= 3 ? value.substring(0, 3).toUpperCase(Locale.ROOT) : "";
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(prefix) && !prefix.isEmpty()) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    private static int to24Hour(int hour, String period) {
+        boolean pm = period.equalsIgnoreCase("PM");
+        if (hour == 12) {
+            return pm ? 12 : 0;
+        }
+        return pm ? hour + 12 : hour;
+    }
+
+    private static List<LocalTime> toTimes(int mask) {
+        List<LocalTime> times = new ArrayList<>(Integer.bitCount(mask));
+        while (mask != 0) {
+            int hour = Integer.numberOfTrailingZeros(mask);
+            times.add(LocalTime.of(hour, 0));
+            mask &= mask - 1;
+        }
+        return times;
+    }
+}
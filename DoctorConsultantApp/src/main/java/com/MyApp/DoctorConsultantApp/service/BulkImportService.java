@@ -0,0 +1,510 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.BulkImportError;
+import com.MyApp.DoctorConsultantApp.dto.BulkImportResponse;
+import com.MyApp.DoctorConsultantApp.dto.DoctorRegisterRequest;
+import com.MyApp.DoctorConsultantApp.dto.RegisterRequest;
+import com.MyApp.DoctorConsultantApp.dto.Role;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// CSV needs a header row of the JSON field names; list columns (tags, schedules) separate values with ;
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Set<String> LIST_COLUMNS = Set.of("tags", "schedules");
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromContentType(String contentType) {
+            if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                return CSV;
+            }
+            if (contentType != null && (contentType.toLowerCase().startsWith("application/x-ndjson")
+                    || contentType.toLowerCase().startsWith("application/jsonl"))) {
+                return NDJSON;
+            }
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "Upload text/csv or application/x-ndjson, or pass format=CSV|NDJSON");
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IdentityService identityService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+
+    public BulkImportService(@Value("${app.import.threads:0}") int threads,
+                             @Value("${app.import.chunk-size:500}") int chunkSize) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        AtomicInteger counter = new AtomicInteger();
+        // Separate from the login BCrypt pool so an import never delays sign-ins. A full
+        // queue (concurrent imports) makes the uploading thread hash its own rows.
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.chunkSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-import-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public BulkImportResponse importDoctors(InputStream input, Format format) {
+        return run(input, format, DoctorRegisterRequest.class,
+                DoctorRegisterRequest::getEmail, this::toDoctor, this::doctorsCommitted);
+    }
+
+    public BulkImportResponse importPatients(InputStream input, Format format) {
+        return run(input, format, RegisterRequest.class,
+                RegisterRequest::getEmail, this::toUser, users -> { });
+    }
+
+    private <R, E> BulkImportResponse run(InputStream input, Format format, Class<R> type,
+                                          Function<R, String> email, Function<R, E> build,
+                                          Consumer<List<E>> committed) {
+        Report report = new Report();
+        Set<String> seenEmails = new HashSet<>();
+        try (RowReader reader = format == Format.CSV ? new CsvRowReader(input) : new NdjsonRowReader(input)) {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, type, email, build, committed, seenEmails, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, type, email, build, committed, seenEmails, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Bulk import of {}: {} rows, {} imported, {} failed",
+                type.getSimpleName(), report.processed, report.imported, report.failed);
+        return new BulkImportResponse(report.processed, report.imported, report.failed, report.errors);
+    }
+
+    private <R, E> void processChunk(List<Row> chunk, Class<R> type, Function<R, String> email,
+                                     Function<R, E> build, Consumer<List<E>> committed,
+                                     Set<String> seenEmails, Report report) {
+        report.processed += chunk.size();
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        List<R> requests = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.error != null) {
+                report.fail(row.line, null, row.error);
+                continue;
+            }
+            R request;
+            try {
+                request = objectMapper.treeToValue(row.node, type);
+            } catch (JsonProcessingException e) {
+                report.fail(row.line, null, "Invalid value: " + e.getOriginalMessage());
+                continue;
+            }
+            String address = normalizeEmail(email.apply(request));
+            if (address == null) {
+                report.fail(row.line, null, "email is required");
+            } else if (!seenEmails.add(address.toLowerCase(Locale.ROOT))) {
+                report.fail(row.line, address, "Duplicate email in file");
+            } else {
+                valid.add(row);
+                requests.add(request);
+            }
+        }
+        Set<String> existing = identityService.findExistingEmails(
+                requests.stream().map(r -> normalizeEmail(email.apply(r))).toList());
+
+        List<Future<E>> futures = new ArrayList<>(requests.size());
+        List<Row> submitted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            R request = requests.get(i);
+            String address = normalizeEmail(email.apply(request));
+            if (existing.contains(address.toLowerCase(Locale.ROOT))) {
+                report.fail(valid.get(i).line, address, "Email already registered");
+                continue;
+            }
+            valid.get(i).email = address;
+            submitted.add(valid.get(i));
+            futures.add(executor.submit(() -> build.apply(request)));
+        }
+
+        List<E> entities = new ArrayList<>(futures.size());
+        List<Row> entityRows = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Row row = submitted.get(i);
+            try {
+                entities.add(futures.get(i).get());
+                entityRows.add(row);
+            } catch (ExecutionException e) {
+                report.fail(row.line, row.email, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Import interrupted");
+            }
+        }
+        if (entities.isEmpty()) {
+            return;
+        }
+        committed.accept(persist(entities, entityRows, report));
+    }
+
+    // If the chunk fails, each row is retried alone to find the culprit
+    private <E> List<E> persist(List<E> entities, List<Row> rows, Report report) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> {
+                entities.forEach(entityManager::persist);
+                entityManager.flush();
+            });
+            report.imported += entities.size();
+            return entities;
+        } catch (RuntimeException e) {
+            log.debug("Bulk import chunk failed, retrying row by row", e);
+        }
+        List<E> saved = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            E entity = entities.get(i);
+            resetForRetry(entity);
+            try {
+                tx.executeWithoutResult(status -> entityManager.persist(entity));
+                saved.add(entity);
+                report.imported++;
+            } catch (RuntimeException e) {
+                Row row = rows.get(i);
+                report.fail(row.line, row.email, "Could not be saved: " + rootMessage(e));
+            }
+        }
+        return saved;
+    }
+
+    private Doctor toDoctor(DoctorRegisterRequest request) {
+        require(request.getFullName(), "fullName");
+        require(request.getPassword(), "password");
+        require(request.getSpecialization(), "specialization");
+        if (request.getFees() < 0) {
+            throw new IllegalArgumentException("fees must not be negative");
+        }
+        if (request.getRating() < 0) {
+            throw new IllegalArgumentException("rating must not be negative");
+        }
+        Doctor doctor = new Doctor();
+        doctor.setFullName(request.getFullName().trim());
+        doctor.setEmail(normalizeEmail(request.getEmail()));
+        doctor.setPassword(passwordEncoder.encode(request.getPassword()));
+        doctor.setGender(request.getGender());
+        doctor.setSpecialization(request.getSpecialization().trim());
+        doctor.setQualification(request.getQualification());
+        doctor.setBio(request.getBio());
+        doctor.setFees(request.getFees());
+        doctor.setRating(request.getRating());
+        doctor.setTags(request.getTags() != null ? new ArrayList<>(request.getTags()) : new ArrayList<>());
+        doctor.setSchedules(request.getSchedules() != null ? new ArrayList<>(request.getSchedules()) : new ArrayList<>());
+        return doctor;
+    }
+
+    private User toUser(RegisterRequest request) {
+        require(request.getFullName(), "fullName");
+        require(request.getPassword(), "password");
+        if (request.getAge() < 0) {
+            throw new IllegalArgumentException("age must not be negative");
+        }
+        User user = new User();
+        user.setFullName(request.getFullName().trim());
+        user.setEmail(normalizeEmail(request.getEmail()));
+        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPhone(request.getPhone());
+        user.setGender(request.getGender());
+        user.setAge(request.getAge());
+        user.setHeight(request.getHeight());
+        user.setWeight(request.getWeight());
+        user.setBloodGroup(request.getBloodGroup());
+        user.setAboutMe(request.getAboutMe());
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private void doctorsCommitted(List<Doctor> doctors) {
+        // Inserts go through Hibernate, but cached pending/approved listings would not include them
+        entityCacheService.evictDoctors();
+        doctors.forEach(availabilityService::indexDoctor);
+        doctorSearchService.indexAll(doctors);
+    }
+
+    private static void resetForRetry(Object entity) {
+        // A rolled-back batch leaves ids and session-bound collections on the entities;
+        // persist() would treat them as detached
+        if (entity instanceof Doctor doctor) {
+            doctor.setId(null);
+            doctor.setTags(new ArrayList<>(doctor.getTags()));
+            doctor.setSchedules(new ArrayList<>(doctor.getSchedules()));
+        } else if (entity instanceof User user) {
+            user.setId(null);
+        }
+    }
+
+    private static void require(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+    }
+
+    private static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class Report {
+        int processed;
+        int imported;
+        int failed;
+        final List<BulkImportError> errors = new ArrayList<>();
+
+        void fail(long line, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportError(line, email, message));
+            }
+        }
+    }
+
+    private static class Row {
+        final long line;
+        final JsonNode node;
+        final String error;
+        String email;
+
+        Row(long line, JsonNode node, String error) {
+            this.line = line;
+            this.node = node;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader extends AutoCloseable {
+        Row next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowReader(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(text);
+                    if (!node.isObject()) {
+                        return new Row(line, null, "Expected a JSON object");
+                    }
+                    return new Row(line, node, null);
+                } catch (JsonProcessingException e) {
+                    return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private long line;
+        private String[] header;
+
+        CsvRowReader(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = names.stream().map(String::trim).toArray(String[]::new);
+                if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+                    header[0] = header[0].substring(1);
+                }
+            }
+            List<String> values;
+            do {
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank());
+
+            if (values.size() != header.length) {
+                return new Row(line, null, "Expected " + header.length + " columns but found " + values.size());
+            }
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < header.length; i++) {
+                String value = values.get(i);
+                if (LIST_COLUMNS.contains(header[i])) {
+                    ArrayNode items = node.putArray(header[i]);
+                    Arrays.stream(value.split(";")).map(String::trim).filter(s -> !s.isEmpty()).forEach(items::add);
+                } else if (!value.isEmpty()) {
+                    node.put(header[i], value);
+                }
+            }
+            return new Row(line, node, null);
+        }
+
+        // RFC 4180; the reported line is the record's last line
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    String more = reader.readLine();
+                    if (more == null) {
+                        break;
+                    }
+                    line++;
+                    field.append('\n');
+                    text = more;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
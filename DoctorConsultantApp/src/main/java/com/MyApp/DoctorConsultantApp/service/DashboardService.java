@@ -0,0 +1,119 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.AdminDashboard;
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.dto.Role;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class DashboardService {
+
+    private static final int DAILY_WINDOW_DAYS = 7;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RevenueAggregationService revenueAggregationService;
+
+    private final AtomicReference<AdminDashboard> snapshot = new AtomicReference<>();
+    // Bumped by every write; the snapshot is stale until a refresh covers the latest version
+    private final AtomicLong writeVersion = new AtomicLong(1);
+    private final AtomicLong snapshotVersion = new AtomicLong(0);
+
+    public AdminDashboard getDashboard() {
+        AdminDashboard current = snapshot.get();
+        if (current == null) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    public void markStale() {
+        writeVersion.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.stale-check-ms:2000}")
+    public void refreshIfStale() {
+        if (snapshotVersion.get() != writeVersion.get()) {
+            refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized AdminDashboard refresh() {
+        // Writes marked after this point are not guaranteed to be in the queries below
+        long version = writeVersion.get();
+
+        Object[] totals = (Object[]) entityManager.createQuery(
+                        "SELECT " +
+                                "(SELECT COUNT(d) FROM Doctor d), " +
+                                "(SELECT COUNT(pd) FROM Doctor pd WHERE pd.status = :pending), " +
+                                "(SELECT COUNT(u) FROM User u WHERE u.role = :patientRole), " +
+                                "(SELECT COUNT(a) FROM Appointment a WHERE a.status <> :expired)")
+                .setParameter("pending", ApprovalStatus.PENDING)
+                .setParameter("patientRole", Role.USER)
+                .setParameter("expired", AppointmentStatus.EXPIRED)
+                .getSingleResult();
+
+        AdminDashboard dto = new AdminDashboard();
+        dto.setTotalDoctors(toLong(totals[0]));
+        dto.setPendingDoctors(toLong(totals[1]));
+        dto.setTotalPatients(toLong(totals[2]));
+        dto.setTotalAppointments(toLong(totals[3]));
+
+        dto.setTotalPayments(revenueAggregationService.getTotalPayments());
+        dto.setTotalAmountCollected(revenueAggregationService.getTotalAmount());
+
+        dto.setDailyAppointments(loadDailyAppointments());
+
+        snapshot.set(dto);
+        snapshotVersion.set(version);
+        return dto;
+    }
+
+    private Map<String, Long> loadDailyAppointments() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(DAILY_WINDOW_DAYS - 1);
+
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT a.date, COUNT(a) FROM Appointment a " +
+                                "WHERE a.date BETWEEN :from AND :to AND a.status <> :expired GROUP BY a.date", Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", today)
+                .setParameter("expired", AppointmentStatus.EXPIRED)
+                .getResultList();
+
+        Map<LocalDate, Long> byDate = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            byDate.put((LocalDate) row[0], toLong(row[1]));
+        }
+
+        Map<String, Long> dailyCounts = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(today); date = date.plusDays(1)) {
+            dailyCounts.put(date.toString(), byDate.getOrDefault(date, 0L));
+        }
+        return Collections.unmodifiableMap(dailyCounts);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
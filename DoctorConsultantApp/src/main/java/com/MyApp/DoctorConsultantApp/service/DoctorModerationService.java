@@ -0,0 +1,87 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.dto.BulkModerationResponse;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.repository.DoctorQueryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+public class DoctorModerationService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public enum PendingSort {
+        OLDEST(Sort.by(Sort.Direction.ASC, "id")),
+        NEWEST(Sort.by(Sort.Direction.DESC, "id")),
+        NAME(Sort.by(Sort.Direction.ASC, "fullName", "id")),
+        SPECIALIZATION(Sort.by(Sort.Direction.ASC, "specialization", "id"));
+
+        private final Sort sort;
+
+        PendingSort(Sort sort) {
+            this.sort = sort;
+        }
+    }
+
+    @Autowired
+    private DoctorQueryRepository doctorQueryRepository;
+
+    @Autowired
+    private DoctorSearchService doctorSearchService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    public Page<Doctor> getPending(int page, int size, PendingSort sort) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return doctorQueryRepository.findByStatus(ApprovalStatus.PENDING,
+                PageRequest.of(Math.max(page, 0), pageSize, sort.sort));
+    }
+
+    @Transactional
+    public BulkModerationResponse moderate(List<Long> ids, ApprovalStatus status) {
+        if (status == null || status == ApprovalStatus.PENDING) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status must be APPROVED or REJECTED");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No doctor ids given");
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " doctors per batch");
+        }
+
+        int updated = doctorQueryRepository.updateStatus(unique, ApprovalStatus.PENDING, status);
+        if (updated > 0) {
+            List<Doctor> changed = doctorQueryRepository.findWithTagsByIdIn(unique).stream()
+                    .filter(doctor -> Objects.equals(doctor.getStatus(), status))
+                    .toList();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doctorSearchService.indexAll(changed);
+                    dashboardService.markStale();
+                }
+            });
+        }
+        return new BulkModerationResponse(unique.size(), updated, status);
+    }
+}
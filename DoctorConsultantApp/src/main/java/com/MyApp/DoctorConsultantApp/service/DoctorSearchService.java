@@ -0,0 +1,205 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchQuery;
+import com.MyApp.DoctorConsultantApp.dto.DoctorSearchResult;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.repository.DoctorQueryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class DoctorSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorSearchService.class);
+
+    private static final int MAX_CACHED_QUERIES = 256;
+
+    @Autowired
+    private DoctorQueryRepository doctorQueryRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, DoctorSearchResult> doctors = new HashMap<>();
+    private final Map<String, NavigableSet<Long>> bySpecialization = new HashMap<>();
+    private final Map<String, NavigableSet<Long>> byTag = new HashMap<>();
+
+    private final Map<DoctorSearchQuery, List<DoctorSearchResult>> resultCache =
+            Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DoctorSearchQuery, List<DoctorSearchResult>> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Doctor> approved = doctorQueryRepository.findWithTagsByStatus(ApprovalStatus.APPROVED);
+        lock.writeLock().lock();
+        try {
+            doctors.clear();
+            bySpecialization.clear();
+            byTag.clear();
+            approved.forEach(this::add);
+            resultCache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Doctor search index built with {} approved doctors", approved.size());
+    }
+
+    public void index(Doctor doctor) {
+        indexAll(Collections.singletonList(doctor));
+    }
+
+    public void indexAll(Collection<Doctor> changed) {
+        lock.writeLock().lock();
+        try {
+            for (Doctor doctor : changed) {
+                if (doctor == null || doctor.getId() == null) {
+                    continue;
+                }
+                remove(doctor.getId());
+                if (doctor.getStatus() == ApprovalStatus.APPROVED) {
+                    add(doctor);
+                }
+            }
+            resultCache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<DoctorSearchResult> search(DoctorSearchQuery query) {
+        List<DoctorSearchResult> cached = resultCache.get(query);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<DoctorSearchResult> results;
+        lock.readLock().lock();
+        try {
+            results = execute(query);
+            // Only cache while holding the read lock so a concurrent index change cannot be masked
+            resultCache.put(query, results);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private List<DoctorSearchResult> execute(DoctorSearchQuery query) {
+        List<NavigableSet<Long>> postings = new ArrayList<>();
+        if (query.getSpecialization() != null) {
+            postings.add(bySpecialization.getOrDefault(query.getSpecialization(), Collections.emptyNavigableSet()));
+        }
+        for (String tag : query.getTags()) {
+            postings.add(byTag.getOrDefault(tag, Collections.emptyNavigableSet()));
+        }
+        postings.sort(Comparator.comparingInt(NavigableSet::size));
+
+        Collection<Long> candidates = postings.isEmpty() ? doctors.keySet() : postings.get(0);
+        List<DoctorSearchResult> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            if (!inAllPostings(id, postings)) {
+                continue;
+            }
+            DoctorSearchResult doctor = doctors.get(id);
+            if (matches(doctor, query)) {
+                matches.add(doctor);
+            }
+        }
+        matches.sort(comparatorFor(query.getSort()));
+        return Collections.unmodifiableList(matches);
+    }
+
+    private static boolean inAllPostings(Long id, List<NavigableSet<Long>> postings) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(DoctorSearchResult doctor, DoctorSearchQuery query) {
+        if (query.getGender() != null && !query.getGender().equals(DoctorSearchQuery.normalize(doctor.getGender()))) {
+            return false;
+        }
+        if (query.getMinFees() != null && doctor.getFees() < query.getMinFees()) {
+            return false;
+        }
+        if (query.getMaxFees() != null && doctor.getFees() > query.getMaxFees()) {
+            return false;
+        }
+        return query.getMinRating() == null || doctor.getRating() >= query.getMinRating();
+    }
+
+    private static Comparator<DoctorSearchResult> comparatorFor(DoctorSearchQuery.Sort sort) {
+        Comparator<DoctorSearchResult> byId = Comparator.comparing(DoctorSearchResult::getId);
+        return switch (sort) {
+            case FEES -> Comparator.comparingDouble(DoctorSearchResult::getFees).thenComparing(byId);
+            case FEES_DESC -> Comparator.comparingDouble(DoctorSearchResult::getFees).reversed().thenComparing(byId);
+            case RATING -> Comparator.comparingDouble(DoctorSearchResult::getRating).reversed().thenComparing(byId);
+        };
+    }
+
+    // Callers must hold the write lock
+    private void add(Doctor doctor) {
+        DoctorSearchResult entry = new DoctorSearchResult(doctor);
+        doctors.put(entry.getId(), entry);
+        addPosting(bySpecialization, entry.getSpecialization(), entry.getId());
+        for (String tag : entry.getTags()) {
+            addPosting(byTag, tag, entry.getId());
+        }
+    }
+
+    // Callers must hold the write lock
+    private void remove(Long id) {
+        DoctorSearchResult existing = doctors.remove(id);
+        if (existing == null) {
+            return;
+        }
+        removePosting(bySpecialization, existing.getSpecialization(), id);
+        for (String tag : existing.getTags()) {
+            removePosting(byTag, tag, id);
+        }
+    }
+
+    private static void addPosting(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        String term = DoctorSearchQuery.normalize(key);
+        if (term != null) {
+            index.computeIfAbsent(term, k -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private static void removePosting(Map<String, NavigableSet<Long>> index, String key, Long id) {
+        String term = DoctorSearchQuery.normalize(key);
+        if (term == null) {
+            return;
+        }
+        NavigableSet<Long> posting = index.get(term);
+        if (posting != null) {
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                index.remove(term);
+            }
+        }
+    }
+}
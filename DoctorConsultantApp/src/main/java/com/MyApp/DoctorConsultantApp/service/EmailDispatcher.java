@@ -0,0 +1,206 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage;
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus;
+import com.MyApp.DoctorConsultantApp.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// At-least-once: a SENDING row whose lease runs out is claimed again, so a dead instance delays its batch rather than losing it
+@Service
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSenderProvider;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.mail.from:no-reply@smartappointment.app}")
+    private String from;
+
+    @Value("${app.mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${app.mail.sending-lease-ms:600000}")
+    private long sendingLeaseMs;
+
+    @Value("${app.mail.dispatch-interval-ms:2000}")
+    private long dispatchIntervalMs;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("mail-dispatch-");
+        scheduler.initialize();
+        Duration interval = Duration.ofMillis(dispatchIntervalMs);
+        scheduler.scheduleWithFixedDelay(this::dispatchSafely, Instant.now().plus(interval), interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            // A thrown exception would cancel the fixed-delay schedule
+            log.error("Email dispatch failed", e);
+        }
+    }
+
+    public void dispatch() {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            return;
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int claimed;
+        do {
+            List<EmailOutboxMessage> batch = tx.execute(status -> claimBatch());
+            claimed = batch != null ? batch.size() : 0;
+            if (claimed > 0) {
+                Map<Long, Exception> failures = send(mailSender, batch);
+                tx.executeWithoutResult(status -> recordOutcome(batch, failures));
+            }
+        } while (claimed == batchSize);
+        queueDepth.set(emailOutboxRepository.countByStatus(DeliveryStatus.PENDING));
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> batch = emailOutboxRepository.claimDue(now, Limit.of(batchSize));
+        for (EmailOutboxMessage message : batch) {
+            message.setStatus(DeliveryStatus.SENDING);
+            message.setNextAttemptAt(now.plus(Duration.ofMillis(sendingLeaseMs)));
+        }
+        return batch;
+    }
+
+    // Runs outside any transaction: the claimed rows are detached copies by now
+    private Map<Long, Exception> send(JavaMailSender mailSender, List<EmailOutboxMessage> batch) {
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        Map<SimpleMailMessage, Long> idByMail = new IdentityHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            mails[i] = toMail(batch.get(i));
+            idByMail.put(mails[i], batch.get(i).getId());
+        }
+
+        Map<Object, Exception> failures = Collections.emptyMap();
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(mails, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(mails, e);
+        }
+
+        Map<Long, Exception> failedById = new HashMap<>();
+        failures.forEach((mail, failure) -> failedById.put(idByMail.get(mail), failure));
+        if (!failedById.isEmpty()) {
+            log.warn("{} of {} outbox emails failed; will retry with backoff", failedById.size(), batch.size());
+        }
+        return failedById;
+    }
+
+    private void recordOutcome(List<EmailOutboxMessage> batch, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = batch.stream().map(EmailOutboxMessage::getId).toList();
+        for (EmailOutboxMessage message : emailOutboxRepository.findAllById(ids)) {
+            Exception failure = failures.get(message.getId());
+            if (failure == null) {
+                message.setStatus(DeliveryStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else {
+                scheduleRetry(message, failure, now);
+            }
+        }
+    }
+
+    private void scheduleRetry(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(failure.getMessage())));
+        if (attempts >= maxAttempts) {
+            message.setStatus(DeliveryStatus.FAILED);
+            return;
+        }
+        message.setStatus(DeliveryStatus.PENDING);
+        long backoffMs = initialBackoffMs << Math.min(attempts - 1, 16);
+        message.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMs)));
+    }
+
+    private SimpleMailMessage toMail(EmailOutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private static Map<Object, Exception> allFailed(SimpleMailMessage[] mails, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        for (SimpleMailMessage mail : mails) {
+            failures.put(mail, e);
+        }
+        return failures;
+    }
+
+    private static String truncate(String value) {
+        return value.length() > 1000 ? value.substring(0, 1000) : value;
+    }
+}
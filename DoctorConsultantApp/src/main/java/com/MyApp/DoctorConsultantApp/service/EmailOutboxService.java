@@ -0,0 +1,40 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage;
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus;
+import com.MyApp.DoctorConsultantApp.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class EmailOutboxService {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    // Joins the caller's transaction, so the email goes out only if that change commits
+    @Transactional
+    public EmailOutboxMessage enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setCreatedAt(now);
+        message.setNextAttemptAt(now);
+        return emailOutboxRepository.save(message);
+    }
+
+    public Map<String, Long> getQueueStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (DeliveryStatus status : DeliveryStatus.values()) {
+            stats.put(status.name(), emailOutboxRepository.countByStatus(status));
+        }
+        return stats;
+    }
+}
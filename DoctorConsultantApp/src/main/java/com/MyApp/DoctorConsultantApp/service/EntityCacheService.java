@@ -0,0 +1,91 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hibernate writes keep the cache consistent; the evict methods are for writes that bypass it
+@Service
+public class EntityCacheService {
+
+    private static final List<String> DOCTOR_REGIONS = List.of("doctor", "doctor-tags", "doctor-schedules", "doctor-listings");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictDoctor(Long id) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Doctor.class, id);
+        sessionFactory.getCache().evictCollectionData(Doctor.class.getName() + ".tags", id);
+        sessionFactory.getCache().evictCollectionData(Doctor.class.getName() + ".schedules", id);
+        sessionFactory.getCache().evictQueryRegion("doctor-listings");
+    }
+
+    public void evictDoctors() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Doctor.class);
+        sessionFactory.getCache().evictCollectionData(Doctor.class.getName() + ".tags");
+        sessionFactory.getCache().evictCollectionData(Doctor.class.getName() + ".schedules");
+        sessionFactory.getCache().evictQueryRegion("doctor-listings");
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    // Hit, miss and put counts stay at zero unless hibernate.generate_statistics is on
+    public Map<String, Map<String, Long>> getStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (String region : DOCTOR_REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("hits", regionStatistics.getHitCount());
+            counts.put("misses", regionStatistics.getMissCount());
+            counts.put("puts", regionStatistics.getPutCount());
+            counts.put("elementsInMemory", regionStatistics.getElementCountInMemory());
+            counts.put("evictions", evictions(regionFactory, region));
+            result.put(region, counts);
+        }
+        Map<String, Long> queries = new LinkedHashMap<>();
+        queries.put("hits", statistics.getQueryCacheHitCount());
+        queries.put("misses", statistics.getQueryCacheMissCount());
+        queries.put("puts", statistics.getQueryCachePutCount());
+        result.put("queries", queries);
+        return result;
+    }
+
+    // -1 when the region is not a Caffeine cache with native statistics (e.g. caching disabled)
+    private static long evictions(RegionFactory regionFactory, String region) {
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return -1;
+        }
+        javax.cache.Cache<Object, Object> cache = jcache.getCacheManager().getCache(region);
+        if (cache == null) {
+            return -1;
+        }
+        try {
+            return cache.unwrap(Cache.class).stats().evictionCount();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import com.MyApp.DoctorConsultantApp.model.PaymentClaim;
+import com.MyApp.DoctorConsultantApp.repository.PaymentClaimRepository;
+import com.MyApp.DoctorConsultantApp.repository.PaymentRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// The in-memory map only shares in-flight attempts within one instance; the PaymentClaim unique index is the guarantee
+@Service
+public class IdempotentPaymentService {
+
+    static final String APPOINTMENT_CONSTRAINT = "uk_payment_claim_appointment";
+
+    static final String KEY_CONSTRAINT = "uk_payment_claim_key";
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentClaimRepository paymentClaimRepository;
+
+    @Autowired
+    private RevenueAggregationService revenueAggregationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.payments.idempotency-ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${app.payments.idempotency-max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.payments.wait-timeout-ms:15000}")
+    private long waitTimeoutMs;
+
+    private final Map<String, InFlight> inFlight = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, InFlight> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private static class InFlight {
+        final Long appointmentId;
+        final CompletableFuture<Payment> result = new CompletableFuture<>();
+        final long expiresAt;
+
+        InFlight(Long appointmentId, long expiresAt) {
+            this.appointmentId = appointmentId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public Payment pay(Long appointmentId, String idempotencyKey) {
+        String key = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? "key:" + idempotencyKey
+                : "appointment:" + appointmentId;
+
+        InFlight entry;
+        boolean owner = false;
+        synchronized (inFlight) {
+            evictExpired();
+            entry = inFlight.get(key);
+            if (entry == null) {
+                entry = new InFlight(appointmentId, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes));
+                inFlight.put(key, entry);
+                owner = true;
+            }
+        }
+        if (!entry.appointmentId.equals(appointmentId)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency key was already used for another appointment");
+        }
+        if (!owner) {
+            return await(entry);
+        }
+
+        try {
+            Payment payment = payOnce(appointmentId, idempotencyKey);
+            entry.result.complete(payment);
+            return payment;
+        } catch (RuntimeException e) {
+            entry.result.completeExceptionally(e);
+            synchronized (inFlight) {
+                // The entry may already have been evicted and the key reused
+                inFlight.remove(key, entry);
+            }
+            throw e;
+        }
+    }
+
+    private Payment payOnce(Long appointmentId, String idempotencyKey) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            return tx.execute(status -> {
+                PaymentClaim existing = paymentClaimRepository.findByAppointmentId(appointmentId).orElse(null);
+                if (existing != null) {
+                    return replay(existing);
+                }
+                PaymentClaim claim = new PaymentClaim();
+                claim.setAppointmentId(appointmentId);
+                claim.setIdempotencyKey(idempotencyKey);
+                claim.setCreatedAt(LocalDateTime.now());
+                // Flushed first so a concurrent attempt blocks on, then fails, the unique index
+                paymentClaimRepository.saveAndFlush(claim);
+
+                Payment payment = paymentService.makePayment(appointmentId);
+                claim.setPaymentId(payment.getId());
+                revenueAggregationService.recordOnCommit(payment);
+                return payment;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, KEY_CONSTRAINT)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency key was already used for another appointment");
+            }
+            if (!violates(e, APPOINTMENT_CONSTRAINT)) {
+                throw e;
+            }
+            // Another request or instance claimed this appointment first; return its payment
+            return tx.execute(status -> paymentClaimRepository.findByAppointmentId(appointmentId)
+                    .map(this::replay)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Payment already in progress")));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Appointment was modified concurrently, please retry");
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+
+    private Payment replay(PaymentClaim claim) {
+        if (claim.getPaymentId() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Payment already in progress");
+        }
+        return paymentRepository.findById(claim.getPaymentId())
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
+    }
+
+    private Payment await(InFlight entry) {
+        try {
+            return entry.result.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Payment already in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for payment");
+        }
+    }
+
+    // Callers must hold the inFlight monitor; insertion order is also expiry order
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        var it = inFlight.values().iterator();
+        while (it.hasNext()) {
+            InFlight entry = it.next();
+            if (entry.expiresAt <= now) {
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.Identity;
+import com.MyApp.DoctorConsultantApp.dto.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+// User accounts win over a doctor with the same email, the order login has always checked them in
+@Service
+public class IdentityService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Optional<Identity> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT 'USER', u.id, u.fullName, u.email, u.password, cast(u.role as String), cast(null as String) " +
+                                "FROM User u WHERE u.email = :email " +
+                                "UNION ALL " +
+                                "SELECT 'DOCTOR', d.id, d.fullName, d.email, d.password, cast(d.role as String), cast(d.status as String) " +
+                                "FROM Doctor d WHERE d.email = :email", Object[].class)
+                .setParameter("email", email)
+                .getResultList();
+
+        Identity doctorMatch = null;
+        for (Object[] row : rows) {
+            Identity identity = toIdentity(row);
+            if (identity.getSource() == Identity.Source.USER) {
+                return Optional.of(identity);
+            }
+            if (doctorMatch == null) {
+                doctorMatch = identity;
+            }
+        }
+        return Optional.ofNullable(doctorMatch);
+    }
+
+    // Matches come back in lower case
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> lowered = emails.stream().map(email -> email.toLowerCase(Locale.ROOT)).distinct().toList();
+        return new HashSet<>(entityManager.createQuery(
+                        "SELECT lower(u.email) FROM User u WHERE lower(u.email) IN :emails " +
+                                "UNION " +
+                                "SELECT lower(d.email) FROM Doctor d WHERE lower(d.email) IN :emails", String.class)
+                .setParameter("emails", lowered)
+                .getResultList());
+    }
+
+    @Transactional
+    public void updatePasswordHash(Identity identity, String passwordHash) {
+        String entity = identity.getSource() == Identity.Source.DOCTOR ? "Doctor" : "User";
+        entityManager.createQuery("UPDATE " + entity + " e SET e.password = :password WHERE e.id = :id")
+                .setParameter("password", passwordHash)
+                .setParameter("id", identity.getId())
+                .executeUpdate();
+    }
+
+    private static Identity toIdentity(Object[] row) {
+        Identity.Source source = Identity.Source.valueOf((String) row[0]);
+        Role role = row[5] != null ? Role.valueOf((String) row[5]) : null;
+        return new Identity(source, (Long) row[1], (String) row[2], (String) row[3], (String) row[4], role, (String) row[6]);
+    }
+}
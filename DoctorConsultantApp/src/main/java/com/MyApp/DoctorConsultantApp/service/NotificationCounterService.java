@@ -0,0 +1,161 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.repository.NotificationQueryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+@Service
+public class NotificationCounterService {
+
+    public static final String READ_EVENT = "notifications-read";
+
+    @Autowired
+    private NotificationQueryRepository notificationQueryRepository;
+
+    @Autowired
+    private NotificationHub notificationHub;
+
+    private final Cache<String, Count> unreadCounts;
+
+    private static final class Count {
+        long value;
+        boolean loaded;
+        boolean stale;
+    }
+
+    public NotificationCounterService(
+            @Value("${app.notifications.counter-cache-size:100000}") int maxCachedRecipients,
+            @Value("${app.notifications.counter-ttl-minutes:10}") long ttlMinutes) {
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(maxCachedRecipients)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public long getUnreadCount(String recipientType, Long recipientId) {
+        String type = normalizeType(recipientType);
+        String key = key(type, recipientId);
+        // The placeholder goes in before the COUNT, so an insert committed during the query can mark it stale
+        Count count = unreadCounts.get(key, k -> new Count());
+        synchronized (count) {
+            if (count.loaded) {
+                return count.value;
+            }
+        }
+        long loaded = notificationQueryRepository.countUnread(type, recipientId);
+        synchronized (count) {
+            if (count.loaded) {
+                return count.value;
+            }
+            if (!count.stale) {
+                count.value = loaded;
+                count.loaded = true;
+            }
+        }
+        return loaded;
+    }
+
+    public void onCreated(Notification notification) {
+        if (notification.isRead() || notification.getRecipientType() == null || notification.getRecipientId() == null) {
+            return;
+        }
+        String key = key(normalizeType(notification.getRecipientType()), notification.getRecipientId());
+        Count count = unreadCounts.getIfPresent(key);
+        if (count == null) {
+            return;
+        }
+        synchronized (count) {
+            if (count.loaded) {
+                count.value++;
+                return;
+            }
+            count.stale = true;
+        }
+        unreadCounts.asMap().remove(key, count);
+    }
+
+    public void evict(String recipientType, Long recipientId) {
+        if (recipientType == null || recipientId == null) {
+            return;
+        }
+        Count count = unreadCounts.asMap().remove(key(normalizeType(recipientType), recipientId));
+        if (count != null) {
+            synchronized (count) {
+                count.stale = true;
+            }
+        }
+    }
+
+    @Transactional
+    public int markAllRead(String recipientType, Long recipientId) {
+        String type = normalizeType(recipientType);
+        int updated = notificationQueryRepository.markAllRead(type, recipientId);
+        // Evict rather than zero: a notification committed in between must still be counted
+        afterCommit(() -> {
+            evict(type, recipientId);
+            if (updated > 0) {
+                notificationHub.publish(type, recipientId, READ_EVENT, Map.of("updated", updated));
+            }
+        });
+        return updated;
+    }
+
+    // All or nothing: one unread notification of another recipient refuses the whole batch
+    @Transactional
+    public int markRead(Collection<Long> ids, BiPredicate<String, Long> mayAccess) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> recipients = notificationQueryRepository.findUnreadRecipients(ids);
+        for (Object[] recipient : recipients) {
+            if (!mayAccess.test((String) recipient[0], (Long) recipient[1])) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your notification");
+            }
+        }
+        int updated = notificationQueryRepository.markRead(ids);
+        afterCommit(() -> {
+            for (Object[] recipient : recipients) {
+                String recipientType = (String) recipient[0];
+                Long recipientId = (Long) recipient[1];
+                evict(recipientType, recipientId);
+                notificationHub.publish(recipientType, recipientId, READ_EVENT, Map.of("ids", ids));
+            }
+        });
+        return updated;
+    }
+
+    // A rolled-back update must leave the cached counts alone and tell no client
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Recipient types are stored upper case, as in AppointmentExpiryService.RECIPIENT_TYPE
+    private static String normalizeType(String recipientType) {
+        return recipientType.toUpperCase(Locale.ROOT);
+    }
+
+    private static String key(String recipientType, Long recipientId) {
+        return recipientType + ":" + recipientId;
+    }
+}
@@ -0,0 +1,139 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Every open stream holds a Tomcat connection, so app.notifications.max-streams must stay well below
+// server.tomcat.max-connections; raise both together
+@Service
+public class NotificationHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationHub.class);
+
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${app.notifications.max-streams:4096}")
+    private int maxStreams;
+
+    private final ConcurrentMap<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor publisher;
+    private final Counter dropped;
+
+    public NotificationHub(@Value("${app.notifications.publish-queue-size:10000}") int queueSize,
+                           MeterRegistry meterRegistry) {
+        // One thread keeps events to a recipient in commit order
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-publish");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dropped = Counter.builder("notifications.sse.dropped")
+                .description("Notification events dropped because the publish queue was full")
+                .register(meterRegistry);
+        Gauge.builder("notifications.sse.queue", publisher, e -> e.getQueue().size())
+                .description("Notification events waiting to be written to streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(String recipientType, Long recipientId) {
+        if (getSubscriberCount() >= maxStreams) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open notification streams, please retry");
+        }
+        String key = key(recipientType, recipientId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        subscribers.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        Runnable remove = () -> unsubscribe(key, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    public void publish(String recipientType, Long recipientId, String eventName, Object data) {
+        String key = key(recipientType, recipientId);
+        if (!subscribers.containsKey(key)) {
+            return;
+        }
+        submit(() -> {
+            List<SseEmitter> emitters = subscribers.get(key);
+            if (emitters == null) {
+                return;
+            }
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().name(eventName).data(data));
+            }
+        });
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        submit(() -> subscribers.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdown();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            publisher.execute(task);
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void send(String key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(key, emitter);
+        }
+    }
+
+    private void unsubscribe(String key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        log.trace("Notification stream closed for {}", key);
+    }
+
+    private static String key(String recipientType, Long recipientId) {
+        return recipientType.toUpperCase(Locale.ROOT) + ":" + recipientId;
+    }
+}
@@ -0,0 +1,118 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.Identity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private IdentityService identityService;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer verifyTimer;
+    private final Counter rejections;
+
+    public PasswordVerificationService(
+            @Value("${app.security.bcrypt-threads:0}") int threads,
+            @Value("${app.security.bcrypt-queue-size:256}") int queueSize,
+            @Value("${app.security.bcrypt-timeout-ms:5000}") long timeoutMs,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeoutMs = timeoutMs;
+
+        // Hashing time only; queueing shows up in the gauge and in the login request timer
+        this.verifyTimer = Timer.builder("auth.bcrypt.verify")
+                .description("Time spent computing BCrypt password checks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.bcrypt.rejected")
+                .description("Logins refused because the BCrypt pool was saturated or timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.bcrypt.queue", executor, e -> e.getQueue().size())
+                .description("Password checks waiting for a BCrypt thread")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> verifyTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, please retry");
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejections.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password verification timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password verification interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+
+    public void rehashIfNeeded(Identity identity, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(identity.getPasswordHash())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    identityService.updatePasswordHash(identity, passwordEncoder.encode(rawPassword));
+                } catch (RuntimeException e) {
+                    log.warn("Could not upgrade password hash for {} {}", identity.getSource(), identity.getId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated; the upgrade will be retried on the next login
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
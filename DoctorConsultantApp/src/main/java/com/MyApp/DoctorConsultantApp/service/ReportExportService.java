@@ -0,0 +1,164 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentSummaryRepository;
+import com.MyApp.DoctorConsultantApp.repository.PaymentExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ReportExportService {
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+    }
+
+    private static final List<String> APPOINTMENT_COLUMNS = List.of(
+            "id", "date", "time", "status", "paid", "userId", "userFullName", "userGender",
+            "doctorId", "doctorFullName", "doctorGender", "doctorSpecialization");
+
+    private static final List<String> PAYMENT_COLUMNS = List.of(
+            "id", "paymentDate", "amount", "appointmentId", "appointmentDate", "appointmentTime",
+            "appointmentStatus", "userId", "userFullName", "doctorId", "doctorFullName", "doctorSpecialization");
+
+    @Autowired
+    private AppointmentSummaryRepository appointmentSummaryRepository;
+
+    @Autowired
+    private PaymentExportRepository paymentExportRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Slots between the two dates, both inclusive
+    public void writeAppointments(LocalDate from, LocalDate to, Long doctorId, Collection<AppointmentStatus> statuses,
+                                  Format format, boolean gzip, OutputStream outputStream) {
+        write(() -> appointmentSummaryRepository.streamForExport(from, to, doctorId, orAll(statuses)),
+                APPOINTMENT_COLUMNS,
+                row -> new Object[]{row.getId(), row.getDate(), row.getTime(), row.getStatus(), row.isPaid(),
+                        row.getUserId(), row.getUserFullName(), row.getUserGender(),
+                        row.getDoctorId(), row.getDoctorFullName(), row.getDoctorGender(), row.getDoctorSpecialization()},
+                format, gzip, outputStream);
+    }
+
+    // Payments made between the two dates, both inclusive, filtered on the appointment's doctor and status
+    public void writePayments(LocalDate from, LocalDate to, Long doctorId, Collection<AppointmentStatus> statuses,
+                              Format format, boolean gzip, OutputStream outputStream) {
+        write(() -> paymentExportRepository.streamForExport(from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                        doctorId, orAll(statuses)),
+                PAYMENT_COLUMNS,
+                row -> new Object[]{row.getId(), row.getPaymentDate(), row.getAmount(), row.getAppointmentId(),
+                        row.getAppointmentDate(), row.getAppointmentTime(), row.getAppointmentStatus(),
+                        row.getUserId(), row.getUserFullName(),
+                        row.getDoctorId(), row.getDoctorFullName(), row.getDoctorSpecialization()},
+                format, gzip, outputStream);
+    }
+
+    private <T> void write(Supplier<Stream<T>> query, List<String> columns,
+                           Function<T, Object[]> values, Format format, boolean gzip, OutputStream outputStream) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(outputStream, 16 * 1024) : outputStream;
+                BufferedOutputStream out = new BufferedOutputStream(target, 16 * 1024);
+                try (Stream<T> rows = query.get()) {
+                    if (format == Format.CSV) {
+                        writeCsvLine(out, columns.toArray());
+                        rows.forEach(row -> writeCsvLine(out, values.apply(row)));
+                    } else {
+                        rows.forEach(row -> writeJsonLine(out, row));
+                    }
+                }
+                out.flush();
+                if (target instanceof GZIPOutputStream gzipStream) {
+                    gzipStream.finish();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeJsonLine(OutputStream out, Object row) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(row));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvLine(OutputStream out, Object[] values) {
+        StringBuilder line = new StringBuilder(128);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(values[i]));
+        }
+        line.append("\r\n");
+        try {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Names are user-entered; keep spreadsheets from evaluating them as formulas
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static Collection<AppointmentStatus> orAll(Collection<AppointmentStatus> statuses) {
+        return statuses != null && !statuses.isEmpty() ? statuses : EnumSet.allOf(AppointmentStatus.class);
+    }
+}
@@ -0,0 +1,234 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.DailyRevenue;
+import com.MyApp.DoctorConsultantApp.dto.DoctorEarnings;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Periodic rebuilds correct drift from payments written outside IdempotentPaymentService
+@Service
+public class RevenueAggregationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevenueAggregationService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.revenue.daily-retention-days:400}")
+    private int dailyRetentionDays;
+
+    private static class Totals {
+        double amount;
+        long payments;
+
+        void add(double amount, long payments) {
+            this.amount += amount;
+            this.payments += payments;
+        }
+    }
+
+    private record Delta(Long paymentId, Long doctorId, LocalDate date, double amount) {
+    }
+
+    private Totals overall = new Totals();
+    private Map<Long, Totals> byDoctor = new HashMap<>();
+    private TreeMap<LocalDate, Totals> byDay = new TreeMap<>();
+
+    // Deltas committed while a rebuild is running, replayed on top of its result
+    private List<Delta> pendingDuringRebuild;
+
+    // Must be called inside the transaction that created the payment
+    public void recordOnCommit(Payment payment) {
+        Appointment appointment = payment.getAppointment();
+        Long doctorId = appointment != null && appointment.getDoctor() != null
+                ? appointment.getDoctor().getId() : null;
+        LocalDateTime paidAt = payment.getPaymentDate() != null ? payment.getPaymentDate() : LocalDateTime.now();
+        Delta delta = new Delta(payment.getId(), doctorId, paidAt.toLocalDate(), payment.getAmount());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(delta);
+            }
+        });
+    }
+
+    private synchronized void apply(Delta delta) {
+        addTo(overall, byDoctor, byDay, delta);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(delta);
+        }
+    }
+
+    private void addTo(Totals overall, Map<Long, Totals> byDoctor, TreeMap<LocalDate, Totals> byDay, Delta delta) {
+        overall.add(delta.amount(), 1);
+        if (delta.doctorId() != null) {
+            byDoctor.computeIfAbsent(delta.doctorId(), id -> new Totals()).add(delta.amount(), 1);
+        }
+        byDay.computeIfAbsent(delta.date(), d -> new Totals()).add(delta.amount(), 1);
+    }
+
+    public synchronized double getTotalAmount() {
+        return overall.amount;
+    }
+
+    public synchronized long getTotalPayments() {
+        return overall.payments;
+    }
+
+    public synchronized DoctorEarnings getDoctorEarnings(Long doctorId) {
+        Totals totals = byDoctor.get(doctorId);
+        return totals != null
+                ? new DoctorEarnings(doctorId, totals.amount, totals.payments)
+                : new DoctorEarnings(doctorId, 0.0, 0L);
+    }
+
+    public synchronized List<DoctorEarnings> getTopEarners(int limit) {
+        List<DoctorEarnings> earnings = new ArrayList<>(byDoctor.size());
+        for (Map.Entry<Long, Totals> entry : byDoctor.entrySet()) {
+            earnings.add(new DoctorEarnings(entry.getKey(), entry.getValue().amount, entry.getValue().payments));
+        }
+        earnings.sort(Comparator.comparingDouble(DoctorEarnings::getAmount).reversed());
+        return earnings.size() > limit ? new ArrayList<>(earnings.subList(0, limit)) : earnings;
+    }
+
+    public synchronized List<DailyRevenue> getDailyRevenue(LocalDate from, LocalDate to) {
+        List<DailyRevenue> series = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Totals totals = byDay.get(date);
+            series.add(totals != null
+                    ? new DailyRevenue(date, totals.amount, totals.payments)
+                    : new DailyRevenue(date, 0.0, 0L));
+        }
+        return series;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.revenue.reconcile-interval-ms:600000}",
+            fixedDelayString = "${app.revenue.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        double before = getTotalAmount();
+        rebuild();
+        double after = getTotalAmount();
+        if (Math.abs(before - after) > 0.005) {
+            log.info("Revenue totals reconciled: {} -> {}", before, after);
+        }
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            tx.setReadOnly(true);
+            tx.executeWithoutResult(status -> {
+                Totals freshOverall = new Totals();
+                Map<Long, Totals> freshByDoctor = new HashMap<>();
+                TreeMap<LocalDate, Totals> freshByDay = new TreeMap<>();
+                load(freshOverall, freshByDoctor, freshByDay);
+
+                // Ids are not assigned in commit order, so ask the snapshot which replayed payments it already summed
+                synchronized (this) {
+                    Set<Long> seen = visibleInSnapshot(pendingDuringRebuild);
+                    for (Delta delta : pendingDuringRebuild) {
+                        if (delta.paymentId() == null || !seen.contains(delta.paymentId())) {
+                            addTo(freshOverall, freshByDoctor, freshByDay, delta);
+                        }
+                    }
+                    overall = freshOverall;
+                    byDoctor = freshByDoctor;
+                    byDay = freshByDay;
+                }
+            });
+        } finally {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    private Set<Long> visibleInSnapshot(List<Delta> deltas) {
+        List<Long> ids = deltas.stream().map(Delta::paymentId).filter(Objects::nonNull).toList();
+        if (ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(entityManager.createQuery("SELECT p.id FROM Payment p WHERE p.id IN :ids", Long.class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private void load(Totals freshOverall, Map<Long, Totals> freshByDoctor, TreeMap<LocalDate, Totals> freshByDay) {
+        Object[] totals = (Object[]) entityManager.createQuery(
+                        "SELECT COALESCE(SUM(p.amount), 0), COUNT(p) FROM Payment p")
+                .getSingleResult();
+        freshOverall.add(((Number) totals[0]).doubleValue(), ((Number) totals[1]).longValue());
+
+        List<Object[]> doctorRows = entityManager.createQuery(
+                        "SELECT p.appointment.doctor.id, SUM(p.amount), COUNT(p) FROM Payment p " +
+                                "GROUP BY p.appointment.doctor.id", Object[].class)
+                .getResultList();
+        for (Object[] row : doctorRows) {
+            Totals doctorTotals = new Totals();
+            doctorTotals.add(((Number) row[1]).doubleValue(), ((Number) row[2]).longValue());
+            freshByDoctor.put((Long) row[0], doctorTotals);
+        }
+
+        List<Object[]> dayRows = entityManager.createQuery(
+                        "SELECT cast(p.paymentDate as LocalDate), SUM(p.amount), COUNT(p) FROM Payment p " +
+                                "WHERE p.paymentDate >= :from " +
+                                "GROUP BY cast(p.paymentDate as LocalDate)", Object[].class)
+                .setParameter("from", LocalDate.now().minusDays(dailyRetentionDays).atStartOfDay())
+                .getResultList();
+        for (Object[] row : dayRows) {
+            Totals dayTotals = new Totals();
+            dayTotals.add(((Number) row[1]).doubleValue(), ((Number) row[2]).longValue());
+            freshByDay.put((LocalDate) row[0], dayTotals);
+        }
+    }
+
+    @Scheduled(cron = "${app.revenue.prune-cron:0 30 0 * * *}")
+    public synchronized void pruneDailySeries() {
+        byDay.headMap(LocalDate.now().minusDays(dailyRetentionDays)).clear();
+    }
+}
@@ -0,0 +1,97 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.exception.SlotAlreadyBookedException;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentSlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lock stripes serialize bookings per doctor and day here; the unique slot index catches races with other instances
+@Service
+public class SlotBookingService {
+
+    static final String SLOT_CONSTRAINT = "uk_appointment_doctor_slot";
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    private final ReentrantLock[] stripes;
+    private final Counter localConflicts;
+    private final Counter constraintConflicts;
+
+    public SlotBookingService(@Value("${app.booking.lock-stripes:256}") int stripeCount, MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.localConflicts = Counter.builder("booking.conflicts")
+                .description("Bookings rejected because the slot was already taken")
+                .tag("detected_by", "check")
+                .register(meterRegistry);
+        this.constraintConflicts = Counter.builder("booking.conflicts")
+                .description("Bookings rejected because the slot was already taken")
+                .tag("detected_by", "constraint")
+                .register(meterRegistry);
+    }
+
+    public Appointment book(Long userId, Long doctorId, LocalDate date, LocalTime time) {
+        ReentrantLock lock = stripeFor(doctorId, date);
+        lock.lock();
+        try {
+            if (appointmentSlotRepository.existsByDoctorIdAndDateAndTimeAndStatusNot(doctorId, date, time,
+                    AppointmentStatus.EXPIRED)) {
+                localConflicts.increment();
+                throw new SlotAlreadyBookedException(doctorId, date, time);
+            }
+            Appointment appointment = appointmentService.bookAppointment(userId, doctorId, date, time);
+            availabilityService.markBooked(doctorId, date, time);
+            return appointment;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the same slot between our check and insert; any
+            // other violation (an unknown user or doctor, say) is not a slot conflict
+            if (!violates(e, SLOT_CONSTRAINT)) {
+                throw e;
+            }
+            constraintConflicts.increment();
+            throw new SlotAlreadyBookedException(doctorId, date, time);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Some dialects report the index name with extra detail, so match on containment
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+
+    private ReentrantLock stripeFor(Long doctorId, LocalDate date) {
+        int hash = Objects.hash(doctorId, date);
+        hash ^= (hash >>> 16);
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,30 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.TokenClaims;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class TokenRevocationService {
+
+    // token id -> expiry (epoch seconds)
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(TokenClaims claims) {
+        revoked.put(claims.getTokenId(), claims.getExpiresAtEpochSecond());
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        return revoked.containsKey(claims.getTokenId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        revoked.values().removeIf(exp -> exp <= now);
+    }
+}
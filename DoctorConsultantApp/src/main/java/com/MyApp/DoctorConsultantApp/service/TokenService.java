@@ -0,0 +1,118 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.TokenClaims;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    public TokenService(@Value("${app.security.token-secret:}") String secret,
+                        @Value("${app.security.token-ttl-minutes:30}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // Tokens from a random key do not survive restarts or work across instances
+            log.warn("app.security.token-secret is not set; using a random per-process signing key");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = ttlMinutes * 60;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public String issue(Long subjectId, String role) {
+        long now = Instant.now().getEpochSecond();
+        ObjectNode payload = objectMapper.createObjectNode()
+                .put("sub", String.valueOf(subjectId))
+                .put("role", role)
+                .put("jti", UUID.randomUUID().toString())
+                .put("iat", now)
+                .put("exp", now + ttlSeconds);
+        String signingInput;
+        try {
+            signingInput = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not serialize token payload", e);
+        }
+        return signingInput + "." + base64Url(sign(signingInput));
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot <= firstDot) {
+            return Optional.empty();
+        }
+        String signingInput = token.substring(0, lastDot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+            if (!HEADER.equals(token.substring(0, firstDot))
+                    || !MessageDigest.isEqual(signature, sign(signingInput))) {
+                return Optional.empty();
+            }
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot)));
+            long exp = payload.path("exp").asLong(0);
+            if (exp <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(
+                    Long.valueOf(payload.path("sub").asText()),
+                    payload.path("role").asText(),
+                    payload.path("jti").asText(),
+                    exp));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signing unavailable", e);
+        }
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
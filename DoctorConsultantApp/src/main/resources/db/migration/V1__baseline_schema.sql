@@ -0,0 +1,70 @@
+-- Schema as previously generated by Hibernate from the entity model.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name   VARCHAR(255),
+    email       VARCHAR(255),
+    password    VARCHAR(255),
+    phone       VARCHAR(255),
+    gender      VARCHAR(255),
+    age         INTEGER          NOT NULL,
+    height      DOUBLE PRECISION NOT NULL,
+    weight      DOUBLE PRECISION NOT NULL,
+    blood_group VARCHAR(255),
+    about_me    VARCHAR(255),
+    premium     BOOLEAN          NOT NULL,
+    role        VARCHAR(255) CONSTRAINT users_role_check CHECK (role IN ('USER', 'DOCTOR', 'ADMIN'))
+);
+
+CREATE TABLE doctors (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name      VARCHAR(255),
+    email          VARCHAR(255),
+    password       VARCHAR(255),
+    gender         VARCHAR(255),
+    specialization VARCHAR(255),
+    qualification  VARCHAR(255),
+    bio            VARCHAR(255),
+    fees           DOUBLE PRECISION NOT NULL,
+    rating         DOUBLE PRECISION NOT NULL,
+    role           VARCHAR(255) CONSTRAINT doctors_role_check CHECK (role IN ('USER', 'DOCTOR', 'ADMIN')),
+    status         VARCHAR(255) CONSTRAINT doctors_status_check CHECK (status IN ('PENDING', 'APPROVED'))
+);
+
+CREATE TABLE doctor_tags (
+    doctor_id BIGINT NOT NULL CONSTRAINT fk_doctor_tags_doctor REFERENCES doctors,
+    tags      VARCHAR(255)
+);
+
+CREATE TABLE doctor_schedules (
+    doctor_id BIGINT NOT NULL CONSTRAINT fk_doctor_schedules_doctor REFERENCES doctors,
+    schedules VARCHAR(255)
+);
+
+CREATE TABLE appointment (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id   BIGINT CONSTRAINT fk_appointment_user REFERENCES users,
+    doctor_id BIGINT CONSTRAINT fk_appointment_doctor REFERENCES doctors,
+    date      DATE,
+    time      TIME(6),
+    status    VARCHAR(255) CONSTRAINT appointment_status_check CHECK (status IN ('PENDING', 'APPROVED', 'COMPLETED')),
+    paid      BOOLEAN NOT NULL
+);
+
+CREATE TABLE payment (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    appointment_id BIGINT CONSTRAINT uk_payment_appointment UNIQUE
+                          CONSTRAINT fk_payment_appointment REFERENCES appointment,
+    amount         DOUBLE PRECISION NOT NULL,
+    payment_date   TIMESTAMP(6)
+);
+
+CREATE TABLE notification (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient_type VARCHAR(255),
+    recipient_id   BIGINT,
+    message        VARCHAR(255),
+    read           BOOLEAN NOT NULL,
+    created_at     TIMESTAMP(6)
+);
@@ -0,0 +1,74 @@
+-- Indexes for the repository queries, and the tables, columns and constraints the entities now declare.
+-- Written to be safe on databases that Hibernate's ddl-auto had already partly updated.
+
+-- Optimistic locking on appointments, so concurrent payment and expiry cannot both win
+ALTER TABLE appointment ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+
+-- One payment claim per appointment, taken in the payment's transaction
+CREATE TABLE IF NOT EXISTS payment_claim (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    appointment_id  BIGINT NOT NULL CONSTRAINT uk_payment_claim_appointment UNIQUE,
+    idempotency_key VARCHAR(255)    CONSTRAINT uk_payment_claim_key UNIQUE,
+    payment_id      BIGINT,
+    created_at      TIMESTAMP(6)
+);
+
+-- Outgoing email, delivered in the background by EmailDispatcher
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient       VARCHAR(255),
+    subject         VARCHAR(255),
+    body            VARCHAR(4000),
+    status          VARCHAR(255) CONSTRAINT email_outbox_status_check CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    sent_at         TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)
+);
+
+-- Dispatcher claims: due rows by status, oldest first
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at);
+
+-- Doctors can be rejected through bulk moderation
+ALTER TABLE doctors DROP CONSTRAINT IF EXISTS doctors_status_check;
+ALTER TABLE doctors ADD CONSTRAINT doctors_status_check
+    CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED'));
+
+-- One booking per doctor slot. Also serves the doctor timeline and availability lookups.
+-- Fails if duplicate slots were booked before the constraint existed; resolve those first.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_appointment_doctor_slot') THEN
+        ALTER TABLE appointment
+            ADD CONSTRAINT uk_appointment_doctor_slot UNIQUE (doctor_id, date, time);
+    END IF;
+END
+$$;
+
+-- Patient timeline: WHERE user_id = ? AND date BETWEEN ? AND ? ORDER BY date, time, id
+CREATE INDEX IF NOT EXISTS idx_appointment_user_date ON appointment (user_id, date);
+
+-- Upcoming-slot scans (AppointmentSlotRepository) filter on date alone
+CREATE INDEX IF NOT EXISTS idx_appointment_date ON appointment (date);
+
+-- Login and registration lookups
+CREATE INDEX IF NOT EXISTS idx_doctors_email ON doctors (email);
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+
+-- Approved listings and search narrow by status, then by specialization
+CREATE INDEX IF NOT EXISTS idx_doctors_status_specialization ON doctors (status, specialization);
+
+-- Moderation queue: small, hot subset of doctors, paged in id order
+CREATE INDEX IF NOT EXISTS idx_doctors_pending ON doctors (id) WHERE status = 'PENDING';
+
+-- Element collections are batch-fetched by doctor_id
+CREATE INDEX IF NOT EXISTS idx_doctor_tags_doctor ON doctor_tags (doctor_id);
+CREATE INDEX IF NOT EXISTS idx_doctor_schedules_doctor ON doctor_schedules (doctor_id);
+
+-- Notification inbox listing, and the unread counters that only touch unread rows
+CREATE INDEX IF NOT EXISTS idx_notification_recipient
+    ON notification (recipient_type, recipient_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_notification_unread
+    ON notification (recipient_type, recipient_id) WHERE read = false;
+
@@ -0,0 +1,5 @@
+-- Doctor ids now come from a sequence so bulk imports can be batched.
+-- Hibernate's pooled optimizer hands out (value - 49 .. value) per fetch, so start
+-- one allocation block above the current highest id.
+CREATE SEQUENCE IF NOT EXISTS doctors_seq INCREMENT BY 50;
+SELECT setval('doctors_seq', COALESCE(MAX(id), 0) + 50, false) FROM doctors;
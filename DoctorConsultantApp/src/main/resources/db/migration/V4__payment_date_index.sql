@@ -0,0 +1,2 @@
+-- Payment exports and revenue rebuilds scan payments by date
+CREATE INDEX IF NOT EXISTS idx_payment_date ON payment (payment_date);
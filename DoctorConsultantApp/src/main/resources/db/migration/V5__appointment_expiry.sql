@@ -0,0 +1,20 @@
+-- Pending appointments that are never approved or paid now expire and free their slot.
+
+ALTER TABLE appointment DROP CONSTRAINT IF EXISTS appointment_status_check;
+ALTER TABLE appointment ADD CONSTRAINT appointment_status_check
+    CHECK (status IN ('PENDING', 'APPROVED', 'COMPLETED', 'EXPIRED'));
+
+-- Existing rows keep NULL and can only expire once their slot has passed
+ALTER TABLE appointment ADD COLUMN IF NOT EXISTS created_at TIMESTAMP(6);
+
+-- Expired appointments no longer hold their slot, so uniqueness only covers live rows
+ALTER TABLE appointment DROP CONSTRAINT IF EXISTS uk_appointment_doctor_slot;
+DROP INDEX IF EXISTS uk_appointment_doctor_slot;
+CREATE UNIQUE INDEX uk_appointment_doctor_slot ON appointment (doctor_id, date, time)
+    WHERE status <> 'EXPIRED';
+
+-- Expiry claims: both scan only the small set of unpaid pending rows
+CREATE INDEX IF NOT EXISTS idx_appointment_pending_slot ON appointment (date, time)
+    WHERE status = 'PENDING' AND paid = false;
+CREATE INDEX IF NOT EXISTS idx_appointment_pending_created ON appointment (created_at)
+    WHERE status = 'PENDING' AND paid = false;
@@ -0,0 +1,5 @@
+-- Outbox rows are marked SENDING while the dispatcher talks to SMTP outside its claim transaction.
+
+ALTER TABLE email_outbox DROP CONSTRAINT IF EXISTS email_outbox_status_check;
+ALTER TABLE email_outbox ADD CONSTRAINT email_outbox_status_check
+    CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED'));
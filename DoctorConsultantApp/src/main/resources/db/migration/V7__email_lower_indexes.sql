@@ -0,0 +1,4 @@
+-- Bulk import checks for existing accounts with lower(email), so the plain email indexes cannot serve it
+
+CREATE INDEX IF NOT EXISTS idx_users_email_lower ON users (lower(email));
+CREATE INDEX IF NOT EXISTS idx_doctors_email_lower ON doctors (lower(email));
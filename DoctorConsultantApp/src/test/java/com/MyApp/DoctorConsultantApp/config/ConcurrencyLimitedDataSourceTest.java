@@ -0,0 +1,71 @@
+package com.MyApp.DoctorConsultantApp.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    @Test
+    void closingAConnectionReturnsItsPermit() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target(), 1, 0, 50);
+
+        dataSource.getConnection().close();
+
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void rejectsAtOnceWhenTheWaitQueueIsFull() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target(), 1, 1, 10_000);
+        Connection held = dataSource.getConnection();
+
+        CountDownLatch waiting = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            waiting.countDown();
+            try {
+                dataSource.getConnection().close();
+            } catch (Exception ignored) {
+                // Only here to occupy the single queue slot
+            }
+        });
+        waiter.start();
+        waiting.await();
+        while (dataSource.getWaitingThreads() == 0) {
+            Thread.sleep(1);
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+        assertThat(dataSource.getRejectedCount()).isEqualTo(1);
+
+        held.close();
+        waiter.join(5_000);
+    }
+
+    @Test
+    void rejectsAfterTheAcquireTimeout() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target(), 1, 10, 50);
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("within 50ms");
+    }
+
+    private static DataSource target() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(inv -> mock(Connection.class));
+        return target;
+    }
+}
@@ -0,0 +1,146 @@
+package com.MyApp.DoctorConsultantApp.repository;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:expiry;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AppointmentExpiryRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 1, 10);
+    private static final LocalTime NOW = LocalTime.of(12, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDate LATER = LocalDate.of(2030, 2, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentExpiryRepository appointmentExpiryRepository;
+
+    private User patient;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = new User();
+        patient.setFullName("Ann Patient");
+        patient.setEmail("ann@example.com");
+        entityManager.persist(patient);
+
+        doctor = new Doctor();
+        doctor.setFullName("Dr. House");
+        doctor.setEmail("house@example.com");
+        doctor.setSpecialization("Diagnostics");
+        doctor.setStatus(ApprovalStatus.APPROVED);
+        doctor.setTags(List.of("lupus"));
+        doctor.setSchedules(List.of("MON 09:00-12:00"));
+        entityManager.persist(doctor);
+    }
+
+    @Test
+    void pastSlotClaimFindsOnlyUnpaidPendingSlotsUpToNowInSlotOrder() {
+        Appointment sameDay = appointment(TODAY, LocalTime.of(11, 0), AppointmentStatus.PENDING, false, null);
+        Appointment yesterday = appointment(TODAY.minusDays(1), LocalTime.of(15, 0), AppointmentStatus.PENDING, false, null);
+        Appointment startingNow = appointment(TODAY, NOW, AppointmentStatus.PENDING, false, null);
+        appointment(TODAY, LocalTime.of(13, 0), AppointmentStatus.PENDING, false, null);
+        appointment(TODAY.minusDays(2), NOW, AppointmentStatus.PENDING, true, null);
+        appointment(TODAY.minusDays(2), NOW, AppointmentStatus.APPROVED, false, null);
+        appointment(TODAY.minusDays(3), NOW, AppointmentStatus.EXPIRED, false, null);
+        entityManager.clear();
+
+        assertThat(appointmentExpiryRepository.claimPastSlots(TODAY, NOW, Limit.of(10)))
+                .extracting(Appointment::getId)
+                .containsExactly(yesterday.getId(), sameDay.getId(), startingNow.getId());
+        assertThat(appointmentExpiryRepository.claimPastSlots(TODAY, NOW, Limit.of(2)))
+                .extracting(Appointment::getId)
+                .containsExactly(yesterday.getId(), sameDay.getId());
+    }
+
+    @Test
+    void abandonedClaimFindsOnlyUnpaidPendingRequestsCreatedBeforeTheCutoffOldestFirst() {
+        Appointment older = appointment(LATER, NOW, AppointmentStatus.PENDING, false, CUTOFF.minusDays(2));
+        Appointment old = appointment(LATER, NOW.plusHours(1), AppointmentStatus.PENDING, false, CUTOFF.minusDays(1));
+        appointment(LATER, NOW.plusHours(2), AppointmentStatus.PENDING, false, CUTOFF.plusHours(1));
+        appointment(LATER, NOW.plusHours(3), AppointmentStatus.APPROVED, false, CUTOFF.minusDays(3));
+        appointment(LATER, NOW.plusHours(4), AppointmentStatus.PENDING, true, CUTOFF.minusDays(3));
+        // Rows from before created_at existed never expire by age
+        appointment(LATER, NOW.plusHours(5), AppointmentStatus.PENDING, false, null);
+        entityManager.clear();
+
+        assertThat(appointmentExpiryRepository.claimAbandoned(CUTOFF, Limit.of(10)))
+                .extracting(Appointment::getId)
+                .containsExactly(older.getId(), old.getId());
+        assertThat(appointmentExpiryRepository.claimAbandoned(CUTOFF, Limit.of(1)))
+                .extracting(Appointment::getId)
+                .containsExactly(older.getId());
+    }
+
+    @Test
+    void recipientsCarryThePatientAndDoctorOfEachAppointment() {
+        Appointment appointment = appointment(TODAY, NOW, AppointmentStatus.PENDING, false, null);
+        entityManager.clear();
+
+        assertThat(appointmentExpiryRepository.findRecipients(List.of(appointment.getId())))
+                .singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(
+                        appointment.getId(), patient.getId(), "ann@example.com", "Ann Patient", "Dr. House"));
+    }
+
+    @Test
+    void expiringAClaimedRowFailsAConcurrentApprovalOfTheOldVersion() {
+        Appointment appointment = appointment(TODAY.minusDays(1), NOW, AppointmentStatus.PENDING, false, null);
+        entityManager.clear();
+        Appointment approval = entityManager.find(Appointment.class, appointment.getId());
+        entityManager.detach(approval);
+
+        Appointment claimed = appointmentExpiryRepository.claimPastSlots(TODAY, NOW, Limit.of(10)).get(0);
+        claimed.setStatus(AppointmentStatus.EXPIRED);
+        entityManager.flush();
+
+        assertThat(claimed.getVersion()).isEqualTo(approval.getVersion() + 1);
+        approval.setStatus(AppointmentStatus.APPROVED);
+        assertThatThrownBy(() -> entityManager.merge(approval)).isInstanceOf(OptimisticLockException.class);
+    }
+
+    private Appointment appointment(LocalDate date, LocalTime time, AppointmentStatus status, boolean paid,
+                                    LocalDateTime createdAt) {
+        Appointment appointment = new Appointment();
+        appointment.setUser(patient);
+        appointment.setDoctor(doctor);
+        appointment.setDate(date);
+        appointment.setTime(time);
+        appointment.setStatus(status);
+        appointment.setPaid(paid);
+        entityManager.persistAndFlush(appointment);
+        // created_at is not updatable through the entity
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE appointment SET created_at = ?1 WHERE id = ?2")
+                .setParameter(1, createdAt)
+                .setParameter(2, appointment.getId())
+                .executeUpdate();
+        return appointment;
+    }
+}
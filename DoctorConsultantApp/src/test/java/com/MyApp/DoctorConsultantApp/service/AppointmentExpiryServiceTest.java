@@ -0,0 +1,196 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentExpiryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentExpiryServiceTest {
+
+    private static final long TTL_HOURS = 48;
+    private static final int BATCH_SIZE = 10;
+
+    private final AppointmentExpiryRepository appointmentExpiryRepository = mock(AppointmentExpiryRepository.class);
+    private final EmailOutboxService emailOutboxService = mock(EmailOutboxService.class);
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    private AppointmentExpiryService appointmentExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        appointmentExpiryService = new AppointmentExpiryService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(appointmentExpiryService, "appointmentExpiryRepository", appointmentExpiryRepository);
+        ReflectionTestUtils.setField(appointmentExpiryService, "emailOutboxService", emailOutboxService);
+        ReflectionTestUtils.setField(appointmentExpiryService, "availabilityService", availabilityService);
+        ReflectionTestUtils.setField(appointmentExpiryService, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(appointmentExpiryService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(appointmentExpiryService, "pendingTtlHours", TTL_HOURS);
+        ReflectionTestUtils.setField(appointmentExpiryService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(appointmentExpiryService, "maxBatches", 50);
+
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of());
+        when(appointmentExpiryRepository.claimAbandoned(any(), any())).thenReturn(List.of());
+        when(appointmentExpiryRepository.findRecipients(anyCollection())).thenAnswer(inv -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                rows.add(new Object[]{id, 100 + id, "patient" + id + "@example.com", "Patient " + id, "Dr. House"});
+            }
+            return rows;
+        });
+    }
+
+    @Test
+    void claimsPastSlotsThenAbandonedRequestsOlderThanTheTtl() {
+        Appointment pastSlot = appointment(1L);
+        Appointment abandoned = appointment(2L);
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(pastSlot));
+        when(appointmentExpiryRepository.claimAbandoned(any(), any())).thenReturn(List.of(abandoned));
+
+        LocalDateTime before = LocalDateTime.now();
+        appointmentExpiryService.expireStale();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDate> today = ArgumentCaptor.forClass(LocalDate.class);
+        ArgumentCaptor<LocalTime> now = ArgumentCaptor.forClass(LocalTime.class);
+        verify(appointmentExpiryRepository).claimPastSlots(today.capture(), now.capture(), eq(Limit.of(BATCH_SIZE)));
+        assertThat(LocalDateTime.of(today.getValue(), now.getValue())).isBetween(before, after);
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(appointmentExpiryRepository).claimAbandoned(cutoff.capture(), eq(Limit.of(BATCH_SIZE - 1)));
+        assertThat(cutoff.getValue()).isBetween(before.minusHours(TTL_HOURS), after.minusHours(TTL_HOURS));
+
+        assertThat(pastSlot.getStatus()).isEqualTo(AppointmentStatus.EXPIRED);
+        assertThat(abandoned.getStatus()).isEqualTo(AppointmentStatus.EXPIRED);
+    }
+
+    @Test
+    void fullPastSlotBatchSkipsTheAbandonedClaim() {
+        List<Appointment> full = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            full.add(appointment(id));
+        }
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(full, List.of());
+
+        appointmentExpiryService.expireStale();
+
+        // The full first round never reaches the TTL claim; only the empty second round does
+        verify(appointmentExpiryRepository, times(2)).claimPastSlots(any(), any(), any());
+        verify(appointmentExpiryRepository, times(1)).claimAbandoned(any(), eq(Limit.of(BATCH_SIZE)));
+        verify(availabilityService, times(BATCH_SIZE)).release(any(), any(), any());
+    }
+
+    @Test
+    void appointmentMatchingBothClaimsIsExpiredOnce() {
+        Appointment both = appointment(1L);
+        Appointment abandoned = appointment(2L);
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(both));
+        // The same row again, as another entity instance, plus one only the TTL claim found
+        when(appointmentExpiryRepository.claimAbandoned(any(), any())).thenReturn(List.of(appointment(1L), abandoned));
+
+        appointmentExpiryService.expireStale();
+
+        verify(appointmentExpiryRepository).findRecipients(Set.of(1L, 2L));
+        verify(availabilityService, times(1)).release(7L, both.getDate(), both.getTime());
+        verify(availabilityService, times(2)).release(any(), any(), any());
+        verify(entityManager, times(2)).persist(any(Notification.class));
+        verify(emailOutboxService, times(2)).enqueue(any(), any(), any());
+    }
+
+    @Test
+    void slotsAreReleasedOnlyAfterCommit() {
+        Appointment appointment = appointment(1L);
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(appointment));
+
+        appointmentExpiryService.expireStale();
+
+        InOrder order = inOrder(transactionManager, availabilityService);
+        order.verify(transactionManager).commit(any());
+        order.verify(availabilityService).release(7L, appointment.getDate(), appointment.getTime());
+    }
+
+    @Test
+    void failedCommitKeepsTheSlotsBooked() {
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(appointment(1L)));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        assertThatThrownBy(() -> appointmentExpiryService.expireStale()).isInstanceOf(TransactionSystemException.class);
+
+        verify(availabilityService, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void patientIsNotifiedInAppAndByEmail() {
+        Appointment appointment = appointment(1L);
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(appointment));
+
+        appointmentExpiryService.expireStale();
+
+        ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+        verify(entityManager).persist(notification.capture());
+        assertThat(notification.getValue().getRecipientType()).isEqualTo(AppointmentExpiryService.RECIPIENT_TYPE);
+        assertThat(notification.getValue().getRecipientId()).isEqualTo(101L);
+        assertThat(notification.getValue().isRead()).isFalse();
+        assertThat(notification.getValue().getMessage())
+                .contains("Dr. House", appointment.getDate().toString(), appointment.getTime().toString());
+        verify(emailOutboxService).enqueue(eq("patient1@example.com"), eq("Appointment request expired"),
+                startsWith("Hello Patient 1,"));
+    }
+
+    @Test
+    void patientWithoutEmailIsOnlyNotifiedInApp() {
+        when(appointmentExpiryRepository.claimPastSlots(any(), any(), any())).thenReturn(List.of(appointment(1L)));
+        when(appointmentExpiryRepository.findRecipients(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 101L, " ", "Patient 1", "Dr. House"}));
+
+        appointmentExpiryService.expireStale();
+
+        verify(entityManager).persist(any(Notification.class));
+        verify(emailOutboxService, never()).enqueue(any(), any(), any());
+    }
+
+    private static Appointment appointment(Long id) {
+        Doctor doctor = new Doctor();
+        doctor.setId(7L);
+        Appointment appointment = new Appointment();
+        appointment.setId(id);
+        appointment.setDoctor(doctor);
+        appointment.setDate(LocalDate.of(2030, 1, 1));
+        appointment.setTime(LocalTime.of(9, 0).plusMinutes(30 * id));
+        return appointment;
+    }
+}
@@ -0,0 +1,125 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 selects on the doctor and patient appointment lists: the
+ * statement count must not grow with the number of appointments or doctors.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:appointments;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AppointmentQueryService.class)
+class AppointmentQueryServiceTest {
+
+    // Appointments, then one batch each for the doctors' tags and schedules
+    private static final long EXPECTED_STATEMENTS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AppointmentQueryService appointmentQueryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void userAppointmentsAcrossManyDoctorsUseConstantStatements() throws Exception {
+        User patient = user("patient@example.com");
+        for (int i = 0; i < 20; i++) {
+            Doctor doctor = doctor("doctor" + i + "@example.com");
+            appointment(patient, doctor, LocalDate.of(2030, 1, 1).plusDays(i));
+        }
+        resetSession();
+
+        List<Appointment> appointments = appointmentQueryService.getUserAppointments(patient.getId());
+        objectMapper.writeValueAsString(appointments);
+
+        assertThat(appointments).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    @Test
+    void doctorAppointmentsAcrossManyPatientsUseConstantStatements() throws Exception {
+        Doctor doctor = doctor("doctor@example.com");
+        for (int i = 0; i < 20; i++) {
+            User patient = user("patient" + i + "@example.com");
+            appointment(patient, doctor, LocalDate.of(2030, 1, 1).plusDays(i));
+        }
+        resetSession();
+
+        List<Appointment> appointments = appointmentQueryService.getDoctorAppointments(doctor.getId());
+        objectMapper.writeValueAsString(appointments);
+
+        assertThat(appointments).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    private void resetSession() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setFullName("Patient " + email);
+        user.setEmail(email);
+        return entityManager.persist(user);
+    }
+
+    private Doctor doctor(String email) {
+        Doctor doctor = new Doctor();
+        doctor.setFullName("Doctor " + email);
+        doctor.setEmail(email);
+        doctor.setSpecialization("Cardiology");
+        doctor.setStatus(ApprovalStatus.APPROVED);
+        doctor.setTags(List.of("heart", "bp"));
+        doctor.setSchedules(List.of("MON 09:00-12:00"));
+        return entityManager.persist(doctor);
+    }
+
+    private void appointment(User user, Doctor doctor, LocalDate date) {
+        Appointment appointment = new Appointment();
+        appointment.setUser(user);
+        appointment.setDoctor(doctor);
+        appointment.setDate(date);
+        appointment.setTime(LocalTime.of(10, 0));
+        entityManager.persist(appointment);
+    }
+}
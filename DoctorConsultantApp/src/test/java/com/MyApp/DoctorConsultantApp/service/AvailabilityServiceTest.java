@@ -0,0 +1,70 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.DayAvailability;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AvailabilityServiceTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new AvailabilityService();
+        Doctor doctor = new Doctor();
+        doctor.setId(DOCTOR_ID);
+        doctor.setSchedules(List.of("Monday 9AM - 12PM", "monday 2:00 PM - 3:00 PM", "Funday 9AM - 10AM", "whenever"));
+        availabilityService.indexDoctor(doctor);
+    }
+
+    @Test
+    void weeklySchedulesBecomeHourlySlotsOnMatchingDaysOnly() {
+        assertThat(availabilityService.getAvailability(DOCTOR_ID, MONDAY, MONDAY.plusDays(1)))
+                .extracting(DayAvailability::getDate, DayAvailability::getFreeSlots)
+                .containsExactly(
+                        tuple(MONDAY, times(9, 10, 11, 14)),
+                        tuple(MONDAY.plusDays(1), List.of()));
+        assertThat(availabilityService.getAvailability(99L, MONDAY, MONDAY).get(0).getFreeSlots()).isEmpty();
+    }
+
+    @Test
+    void bookingOffTheHourDoesNotHideTheSlotAtTheHour() {
+        availabilityService.markBooked(DOCTOR_ID, MONDAY, LocalTime.of(9, 30));
+        availabilityService.markBooked(DOCTOR_ID, MONDAY, LocalTime.of(10, 0));
+
+        assertThat(freeSlots()).isEqualTo(times(9, 11, 14));
+    }
+
+    @Test
+    void releasingOneBookingKeepsAnotherInTheSameHourBooked() {
+        availabilityService.markBooked(DOCTOR_ID, MONDAY, LocalTime.of(9, 0));
+        availabilityService.markBooked(DOCTOR_ID, MONDAY, LocalTime.of(9, 30));
+
+        availabilityService.release(DOCTOR_ID, MONDAY, LocalTime.of(9, 30));
+        assertThat(freeSlots()).isEqualTo(times(10, 11, 14));
+
+        availabilityService.release(DOCTOR_ID, MONDAY, LocalTime.of(9, 0));
+        assertThat(freeSlots()).isEqualTo(times(9, 10, 11, 14));
+    }
+
+    private List<LocalTime> freeSlots() {
+        return availabilityService.getAvailability(DOCTOR_ID, MONDAY, MONDAY).get(0).getFreeSlots();
+    }
+
+    private static List<LocalTime> times(int... hours) {
+        return Arrays.stream(hours).mapToObj(hour -> LocalTime.of(hour, 0)).toList();
+    }
+}
@@ -0,0 +1,204 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.BulkImportError;
+import com.MyApp.DoctorConsultantApp.dto.BulkImportResponse;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkImportServiceTest {
+
+    private final IdentityService identityService = mock(IdentityService.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final EntityCacheService entityCacheService = mock(EntityCacheService.class);
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+    private final DoctorSearchService doctorSearchService = mock(DoctorSearchService.class);
+
+    // Rows the mocked entity manager has "inserted", in order
+    private final List<Object> persisted = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private Set<String> existingEmails = Set.of();
+
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        bulkImportService = new BulkImportService(2, 100);
+        ReflectionTestUtils.setField(bulkImportService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(bulkImportService, "passwordEncoder", new BCryptPasswordEncoder(4));
+        ReflectionTestUtils.setField(bulkImportService, "identityService", identityService);
+        ReflectionTestUtils.setField(bulkImportService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(bulkImportService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(bulkImportService, "entityCacheService", entityCacheService);
+        ReflectionTestUtils.setField(bulkImportService, "availabilityService", availabilityService);
+        ReflectionTestUtils.setField(bulkImportService, "doctorSearchService", doctorSearchService);
+
+        // Same contract as the real query: matches are returned lower-cased
+        when(identityService.findExistingEmails(anyCollection())).thenAnswer(inv -> inv.<Collection<String>>getArgument(0)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .filter(existingEmails::contains)
+                .collect(Collectors.toSet()));
+        doAnswer(inv -> {
+            persist(inv.getArgument(0));
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkImportService.shutdown();
+    }
+
+    @Test
+    void csvReaderHandlesQuotesMultiLineRecordsAndByteOrderMark() {
+        String csv = "\uFEFFfullName,email,password,specialization,bio,tags\n"
+                + "\"House, Gregory\",house@example.com,secret,Diagnostics,\"Says \"\"hi\"\"\n"
+                + "to everyone\",lupus; rare \n"
+                + "too,few\n"
+                + "Wilson,wilson@example.com,secret,Oncology,,\n";
+
+        BulkImportResponse response = bulkImportService.importDoctors(stream(csv), BulkImportService.Format.CSV);
+
+        assertThat(response.getProcessed()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(BulkImportError::getLine, BulkImportError::getMessage)
+                .containsExactly(tuple(4L, "Expected 6 columns but found 2"));
+        assertThat(persisted).hasSize(2);
+        Doctor house = (Doctor) persisted.get(0);
+        assertThat(house.getFullName()).isEqualTo("House, Gregory");
+        assertThat(house.getBio()).isEqualTo("Says \"hi\"\nto everyone");
+        assertThat(house.getTags()).containsExactly("lupus", "rare");
+        Doctor wilson = (Doctor) persisted.get(1);
+        assertThat(wilson.getBio()).isNull();
+        assertThat(wilson.getTags()).isEmpty();
+    }
+
+    @Test
+    void duplicatesInFileAndAgainstExistingAccountsIgnoreCase() {
+        existingEmails = Set.of("bob@example.com");
+        String ndjson = """
+                {"fullName":"Ann","email":"Ann@Example.com","password":"secret"}
+                {"fullName":"Ann again","email":" ann@example.COM ","password":"secret"}
+                {"fullName":"Bob","email":"BOB@example.com","password":"secret"}
+                {"fullName":"Carl","email":"carl@example.com","password":"secret"}
+                """;
+
+        BulkImportResponse response = bulkImportService.importPatients(stream(ndjson), BulkImportService.Format.NDJSON);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getErrors())
+                .extracting(BulkImportError::getLine, BulkImportError::getEmail, BulkImportError::getMessage)
+                .containsExactly(
+                        tuple(2L, "ann@example.COM", "Duplicate email in file"),
+                        tuple(3L, "BOB@example.com", "Email already registered"));
+        assertThat(persisted).extracting(entity -> ((User) entity).getEmail())
+                .containsExactly("Ann@Example.com", "carl@example.com");
+    }
+
+    @Test
+    void everyBadRowIsReportedWithItsLineAndTheRestAreImported() {
+        String ndjson = """
+                {"fullName":"Ann","email":"ann@example.com","password":"secret"}
+                {"fullName":"Broken",
+
+                ["not","an","object"]
+                {"fullName":"No email","password":"secret"}
+                {"fullName":"No password","email":"nopass@example.com"}
+                {"fullName":"Negative","email":"neg@example.com","password":"secret","age":-1}
+                {"fullName":"Bad age","email":"badage@example.com","password":"secret","age":"old"}
+                """;
+
+        BulkImportResponse response = bulkImportService.importPatients(stream(ndjson), BulkImportService.Format.NDJSON);
+
+        assertThat(response.getProcessed()).isEqualTo(7);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(6);
+        // Parse failures carry the parser's detail after the colon
+        assertThat(response.getErrors())
+                .extracting(BulkImportError::getLine, error -> error.getMessage().split(":")[0])
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "Malformed JSON"),
+                        tuple(4L, "Expected a JSON object"),
+                        tuple(5L, "email is required"),
+                        tuple(6L, "password is required"),
+                        tuple(7L, "age must not be negative"),
+                        tuple(8L, "Invalid value"));
+    }
+
+    @Test
+    void failedChunkIsRetriedRowByRowAndOnlyTheBadRowIsReported() {
+        String ndjson = """
+                {"fullName":"Ann","email":"ann@example.com","password":"secret","specialization":"Cardiology","tags":["heart"]}
+                {"fullName":"Too long","email":"long@example.com","password":"secret","specialization":"Neurology"}
+                {"fullName":"Carl","email":"carl@example.com","password":"secret","specialization":"Dermatology"}
+                """;
+
+        BulkImportResponse response = bulkImportService.importDoctors(stream(ndjson), BulkImportService.Format.NDJSON);
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors())
+                .extracting(BulkImportError::getLine, BulkImportError::getEmail, BulkImportError::getMessage)
+                .containsExactly(tuple(2L, "long@example.com", "Could not be saved: value too long for column"));
+        // Ann is persisted twice: once in the rolled-back chunk, then alone with a fresh id
+        assertThat(persisted).extracting(entity -> ((Doctor) entity).getEmail())
+                .containsExactly("ann@example.com", "ann@example.com", "carl@example.com");
+        assertThat(((Doctor) persisted.get(1)).getTags()).containsExactly("heart");
+
+        verify(entityCacheService).evictDoctors();
+        verify(availabilityService, times(2)).indexDoctor(any());
+        verify(doctorSearchService).indexAll(List.of((Doctor) persisted.get(1), (Doctor) persisted.get(2)));
+    }
+
+    // Mimics an IDENTITY insert: assigns an id, and refuses an entity that still has one
+    private void persist(Object entity) {
+        String email = entity instanceof Doctor doctor ? doctor.getEmail() : ((User) entity).getEmail();
+        Long id = entity instanceof Doctor doctor ? doctor.getId() : ((User) entity).getId();
+        if (id != null) {
+            throw new PersistenceException("detached entity passed to persist");
+        }
+        if (email.startsWith("long@")) {
+            throw new PersistenceException("could not execute statement",
+                    new IllegalStateException("value too long for column"));
+        }
+        if (entity instanceof Doctor doctor) {
+            doctor.setId(ids.incrementAndGet());
+        } else {
+            ((User) entity).setId(ids.incrementAndGet());
+        }
+        persisted.add(entity);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage;
+import com.MyApp.DoctorConsultantApp.model.EmailOutboxMessage.DeliveryStatus;
+import com.MyApp.DoctorConsultantApp.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox against GreenMail, an in-process SMTP server, to check that
+ * mail is delivered, that SMTP is never spoken inside a transaction, and that a
+ * failed send is put back for retry.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "app.mail.dispatch-interval-ms=3600000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmailDispatcher.class, EmailOutboxService.class, EmailDispatcherTest.SmtpConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private RecordingMailSender mailSender;
+
+    @AfterEach
+    void tearDown() {
+        emailOutboxRepository.deleteAll();
+        mailSender.sentInTransaction = null;
+    }
+
+    @Test
+    void deliversQueuedMailAndMarksItSent() throws Exception {
+        emailOutboxService.enqueue("patient@example.com", "Appointment approved", "See you on Monday");
+        emailOutboxService.enqueue("doctor@example.com", "New booking", "A patient booked a slot");
+
+        emailDispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Appointment approved", "New booking");
+        assertThat(emailOutboxRepository.findAll())
+                .allSatisfy(message -> {
+                    assertThat(message.getStatus()).isEqualTo(DeliveryStatus.SENT);
+                    assertThat(message.getSentAt()).isNotNull();
+                });
+        assertThat(emailDispatcher.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void sendsOutsideAnyTransaction() {
+        emailOutboxService.enqueue("patient@example.com", "Reminder", "Your appointment is tomorrow");
+
+        emailDispatcher.dispatch();
+
+        assertThat(mailSender.sentInTransaction).isFalse();
+    }
+
+    @Test
+    void failedSendIsRescheduledWithBackoff() {
+        emailOutboxService.enqueue("patient@example.com", "Reminder", "Your appointment is tomorrow");
+        greenMail.stop();
+
+        LocalDateTime before = LocalDateTime.now();
+        emailDispatcher.dispatch();
+
+        List<EmailOutboxMessage> messages = emailOutboxRepository.findAll();
+        assertThat(messages).singleElement().satisfies(message -> {
+            assertThat(message.getStatus()).isEqualTo(DeliveryStatus.PENDING);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getLastError()).isNotBlank();
+            assertThat(message.getNextAttemptAt()).isAfter(before);
+        });
+        assertThat(emailDispatcher.getQueueDepth()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class SmtpConfig {
+
+        @Bean
+        RecordingMailSender mailSender() {
+            RecordingMailSender sender = new RecordingMailSender();
+            sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+
+    static class RecordingMailSender extends JavaMailSenderImpl {
+
+        volatile Boolean sentInTransaction;
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            sentInTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+            super.doSend(mimeMessages, originalMessages);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Payment;
+import com.MyApp.DoctorConsultantApp.model.PaymentClaim;
+import com.MyApp.DoctorConsultantApp.repository.PaymentClaimRepository;
+import com.MyApp.DoctorConsultantApp.repository.PaymentRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotentPaymentServiceTest {
+
+    private static final Long APPOINTMENT_ID = 42L;
+
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentClaimRepository paymentClaimRepository = mock(PaymentClaimRepository.class);
+
+    // Stand in for the unique indexes on payment_claim.appointment_id and idempotency_key
+    private final ConcurrentMap<Long, PaymentClaim> claims = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PaymentClaim> claimsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, Payment> payments = new ConcurrentHashMap<>();
+    private final AtomicInteger charges = new AtomicInteger();
+    private final AtomicLong paymentIds = new AtomicLong();
+
+    private IdempotentPaymentService idempotentPaymentService;
+
+    @BeforeEach
+    void setUp() {
+        idempotentPaymentService = new IdempotentPaymentService();
+        ReflectionTestUtils.setField(idempotentPaymentService, "paymentService", paymentService);
+        ReflectionTestUtils.setField(idempotentPaymentService, "paymentRepository", paymentRepository);
+        ReflectionTestUtils.setField(idempotentPaymentService, "paymentClaimRepository", paymentClaimRepository);
+        ReflectionTestUtils.setField(idempotentPaymentService, "revenueAggregationService", mock(RevenueAggregationService.class));
+        ReflectionTestUtils.setField(idempotentPaymentService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(idempotentPaymentService, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(idempotentPaymentService, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotentPaymentService, "waitTimeoutMs", 15_000L);
+
+        when(paymentClaimRepository.findByAppointmentId(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(claims.get(inv.<Long>getArgument(0))));
+        when(paymentClaimRepository.saveAndFlush(any())).thenAnswer(inv -> {
+            PaymentClaim claim = inv.getArgument(0);
+            if (claims.putIfAbsent(claim.getAppointmentId(), claim) != null) {
+                throw violation(IdempotentPaymentService.APPOINTMENT_CONSTRAINT);
+            }
+            if (claim.getIdempotencyKey() != null && claimsByKey.putIfAbsent(claim.getIdempotencyKey(), claim) != null) {
+                claims.remove(claim.getAppointmentId(), claim);
+                throw violation(IdempotentPaymentService.KEY_CONSTRAINT);
+            }
+            return claim;
+        });
+        when(paymentRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(payments.get(inv.<Long>getArgument(0))));
+        when(paymentService.makePayment(anyLong())).thenAnswer(inv -> {
+            // Widen the window in which retries arrive while the first attempt runs
+            Thread.sleep(20);
+            charges.incrementAndGet();
+            Payment payment = new Payment();
+            payment.setId(paymentIds.incrementAndGet());
+            payments.put(payment.getId(), payment);
+            return payment;
+        });
+    }
+
+    @Test
+    void parallelRetriesWithOneKeyChargeExactlyOnce() throws Exception {
+        List<Object> results = retryInParallel(32, i -> "retry-key");
+
+        assertThat(charges.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(result -> assertThat(result).isInstanceOf(Payment.class));
+        assertThat(results.stream().map(result -> ((Payment) result).getId()).distinct()).hasSize(1);
+    }
+
+    @Test
+    void parallelRetriesWithDifferentKeysStillChargeOnce() throws Exception {
+        List<Object> results = retryInParallel(32, i -> "key-" + i);
+
+        assertThat(charges.get()).isEqualTo(1);
+        assertThat(results).allSatisfy(result -> {
+            if (result instanceof ResponseStatusException e) {
+                assertThat(e.getStatusCode().value()).isEqualTo(409);
+            } else {
+                assertThat(((Payment) result).getId()).isEqualTo(1L);
+            }
+        });
+    }
+
+    @Test
+    void inFlightMapNeverGrowsPastItsCap() {
+        ReflectionTestUtils.setField(idempotentPaymentService, "maxEntries", 3);
+
+        for (long appointmentId = 1; appointmentId <= 10; appointmentId++) {
+            idempotentPaymentService.pay(appointmentId, "key-" + appointmentId);
+        }
+
+        Object inFlight = ReflectionTestUtils.getField(idempotentPaymentService, "inFlight");
+        assertThat(inFlight).isInstanceOfSatisfying(Map.class, map -> assertThat(map.keySet())
+                .containsExactlyInAnyOrder("key:key-8", "key:key-9", "key:key-10"));
+    }
+
+    @Test
+    void keyReusedByAnotherInstanceForAnotherAppointmentIsRejected() {
+        PaymentClaim other = new PaymentClaim();
+        other.setAppointmentId(7L);
+        other.setIdempotencyKey("shared-key");
+        claimsByKey.put("shared-key", other);
+
+        assertThatThrownBy(() -> idempotentPaymentService.pay(APPOINTMENT_ID, "shared-key"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(422));
+        assertThat(charges.get()).isZero();
+    }
+
+    @Test
+    void otherIntegrityViolationsAreRethrown() {
+        DataIntegrityViolationException foreignKey = violation("fk_payment_claim_appointment");
+        doThrow(foreignKey).when(paymentClaimRepository).saveAndFlush(any());
+
+        assertThatThrownBy(() -> idempotentPaymentService.pay(APPOINTMENT_ID, "retry-key")).isSameAs(foreignKey);
+        assertThat(charges.get()).isZero();
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("violation", new SQLException("violation"), constraint));
+    }
+
+    private List<Object> retryInParallel(int threads, IntFunction<String> keys) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String key = keys.apply(i);
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    return idempotentPaymentService.pay(APPOINTMENT_ID, key);
+                } catch (ResponseStatusException e) {
+                    return e;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return results;
+    }
+}
@@ -0,0 +1,77 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.model.Notification;
+import com.MyApp.DoctorConsultantApp.repository.NotificationQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationCounterServiceTest {
+
+    private final NotificationQueryRepository notificationQueryRepository = mock(NotificationQueryRepository.class);
+
+    private NotificationCounterService notificationCounterService;
+
+    @BeforeEach
+    void setUp() {
+        notificationCounterService = new NotificationCounterService(100, 10);
+        ReflectionTestUtils.setField(notificationCounterService, "notificationQueryRepository", notificationQueryRepository);
+        ReflectionTestUtils.setField(notificationCounterService, "notificationHub", mock(NotificationHub.class));
+    }
+
+    @Test
+    void insertCommittedDuringTheCountIsNotLost() {
+        AtomicLong unread = new AtomicLong(2);
+        when(notificationQueryRepository.countUnread("USER", 5L)).thenAnswer(inv -> {
+            long counted = unread.get();
+            // Commits after the COUNT read its rows but before the result is cached
+            unread.incrementAndGet();
+            notificationCounterService.onCreated(notification("USER", 5L));
+            return counted;
+        }).thenAnswer(inv -> unread.get());
+
+        assertThat(notificationCounterService.getUnreadCount("USER", 5L)).isEqualTo(2);
+        assertThat(notificationCounterService.getUnreadCount("USER", 5L)).isEqualTo(3);
+        assertThat(notificationCounterService.getUnreadCount("USER", 5L)).isEqualTo(3);
+        verify(notificationQueryRepository, times(2)).countUnread("USER", 5L);
+    }
+
+    @Test
+    void cachedCountFollowsInserts() {
+        when(notificationQueryRepository.countUnread("USER", 5L)).thenReturn(2L);
+
+        notificationCounterService.getUnreadCount("USER", 5L);
+        notificationCounterService.onCreated(notification("USER", 5L));
+
+        assertThat(notificationCounterService.getUnreadCount("USER", 5L)).isEqualTo(3);
+        verify(notificationQueryRepository, times(1)).countUnread(anyString(), anyLong());
+    }
+
+    @Test
+    void recipientTypeIsNormalisedBeforeQuerying() {
+        when(notificationQueryRepository.countUnread(eq("USER"), eq(5L))).thenReturn(4L);
+
+        assertThat(notificationCounterService.getUnreadCount("user", 5L)).isEqualTo(4);
+        assertThat(notificationCounterService.getUnreadCount("USER", 5L)).isEqualTo(4);
+        verify(notificationQueryRepository, times(1)).countUnread(anyString(), anyLong());
+    }
+
+    private static Notification notification(String recipientType, Long recipientId) {
+        Notification notification = new Notification();
+        notification.setRecipientType(recipientType);
+        notification.setRecipientId(recipientId);
+        notification.setRead(false);
+        return notification;
+    }
+}
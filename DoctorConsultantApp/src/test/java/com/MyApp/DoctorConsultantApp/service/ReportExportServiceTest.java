@@ -0,0 +1,188 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.dto.ApprovalStatus;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.model.Doctor;
+import com.MyApp.DoctorConsultantApp.model.User;
+import com.MyApp.DoctorConsultantApp.service.ReportExportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exports;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReportExportService.class, JacksonAutoConfiguration.class})
+class ReportExportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2030, 1, 31);
+    private static final String HEADER = "id,date,time,status,paid,userId,userFullName,userGender,"
+            + "doctorId,doctorFullName,doctorGender,doctorSpecialization";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User patient;
+    private Doctor house;
+    private Doctor wilson;
+
+    @BeforeEach
+    void setUp() {
+        patient = user("Smith, \"Jr\"\nthe second");
+        house = doctor("=HYPERLINK(\"http://evil\")", "-Diagnostics");
+        wilson = doctor("Wilson", "Oncology");
+    }
+
+    @Test
+    void csvQuotesSpecialCharactersAndDefusesFormulas() throws IOException {
+        Appointment appointment = appointment(house, FROM, AppointmentStatus.PENDING);
+
+        String csv = export(house.getId(), null, Format.CSV);
+
+        assertThat(csv).isEqualTo(HEADER + "\r\n"
+                + appointment.getId() + ",2030-01-01,10:00,PENDING,false," + patient.getId()
+                + ",\"Smith, \"\"Jr\"\"\nthe second\",'+1," + house.getId()
+                + ",\"'=HYPERLINK(\"\"http://evil\"\")\",'@home,'-Diagnostics\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerRowWithTheSummaryFields() throws IOException {
+        Appointment first = appointment(house, FROM, AppointmentStatus.APPROVED);
+        Appointment second = appointment(wilson, FROM.plusDays(1), AppointmentStatus.PENDING);
+
+        String ndjson = export(null, null, Format.NDJSON);
+
+        String[] lines = ndjson.split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.isObject()).isTrue();
+        List<String> fields = new ArrayList<>();
+        row.fieldNames().forEachRemaining(fields::add);
+        assertThat(fields).containsExactlyInAnyOrder(HEADER.split(","));
+        assertThat(row.get("id").asLong()).isEqualTo(first.getId());
+        assertThat(row.get("date").asText()).isEqualTo("2030-01-01");
+        assertThat(row.get("status").asText()).isEqualTo("APPROVED");
+        assertThat(row.get("userFullName").asText()).isEqualTo(patient.getFullName());
+        assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(second.getId());
+    }
+
+    @Test
+    void doctorStatusAndDateFiltersNarrowTheExport() throws IOException {
+        Appointment housePending = appointment(house, FROM, AppointmentStatus.PENDING);
+        Appointment houseApproved = appointment(house, TO, AppointmentStatus.APPROVED);
+        Appointment wilsonApproved = appointment(wilson, FROM.plusDays(3), AppointmentStatus.APPROVED);
+        appointment(house, TO.plusDays(1), AppointmentStatus.APPROVED);
+        appointment(house, FROM.minusDays(1), AppointmentStatus.PENDING);
+
+        assertThat(exportedIds(null, null)).containsExactly(housePending.getId(), wilsonApproved.getId(), houseApproved.getId());
+        assertThat(exportedIds(null, List.of())).containsExactly(housePending.getId(), wilsonApproved.getId(), houseApproved.getId());
+        assertThat(exportedIds(house.getId(), null)).containsExactly(housePending.getId(), houseApproved.getId());
+        assertThat(exportedIds(null, List.of(AppointmentStatus.APPROVED))).containsExactly(wilsonApproved.getId(), houseApproved.getId());
+        assertThat(exportedIds(house.getId(), List.of(AppointmentStatus.APPROVED, AppointmentStatus.COMPLETED)))
+                .containsExactly(houseApproved.getId());
+    }
+
+    @Test
+    void gzipIsFinishedButTheResponseStreamIsLeftOpen() throws IOException {
+        appointment(house, FROM, AppointmentStatus.PENDING);
+        appointment(wilson, FROM, AppointmentStatus.APPROVED);
+        String plain = export(null, null, Format.CSV);
+
+        CloseTrackingStream out = new CloseTrackingStream();
+        reportExportService.writeAppointments(FROM, TO, null, null, Format.CSV, true, out);
+
+        // The container owns the response stream; closing it here would break error handling
+        assertThat(out.closed).isFalse();
+        // A complete trailer, or GZIPInputStream fails with an EOFException
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain);
+        }
+    }
+
+    private List<Long> exportedIds(Long doctorId, Collection<AppointmentStatus> statuses) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String line : export(doctorId, statuses, Format.NDJSON).split("\n")) {
+            if (!line.isEmpty()) {
+                ids.add(objectMapper.readTree(line).get("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private String export(Long doctorId, Collection<AppointmentStatus> statuses, Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportExportService.writeAppointments(FROM, TO, doctorId, statuses, format, false, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private User user(String fullName) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail("patient@example.com");
+        user.setGender("+1");
+        return entityManager.persist(user);
+    }
+
+    private Doctor doctor(String fullName, String specialization) {
+        Doctor doctor = new Doctor();
+        doctor.setFullName(fullName);
+        doctor.setEmail(specialization.toLowerCase() + "@example.com");
+        doctor.setGender("@home");
+        doctor.setSpecialization(specialization);
+        doctor.setStatus(ApprovalStatus.APPROVED);
+        doctor.setTags(List.of());
+        doctor.setSchedules(List.of());
+        return entityManager.persist(doctor);
+    }
+
+    private Appointment appointment(Doctor doctor, LocalDate date, AppointmentStatus status) {
+        Appointment appointment = new Appointment();
+        appointment.setUser(patient);
+        appointment.setDoctor(doctor);
+        appointment.setDate(date);
+        appointment.setTime(LocalTime.of(10, 0));
+        appointment.setStatus(status);
+        return entityManager.persistFlushFind(appointment);
+    }
+
+    private static class CloseTrackingStream extends ByteArrayOutputStream {
+        boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
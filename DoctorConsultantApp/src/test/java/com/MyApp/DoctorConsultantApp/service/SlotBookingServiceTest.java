@@ -0,0 +1,145 @@
+package com.MyApp.DoctorConsultantApp.service;
+
+import com.MyApp.DoctorConsultantApp.exception.SlotAlreadyBookedException;
+import com.MyApp.DoctorConsultantApp.model.Appointment;
+import com.MyApp.DoctorConsultantApp.model.Appointment.AppointmentStatus;
+import com.MyApp.DoctorConsultantApp.repository.AppointmentSlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotBookingServiceTest {
+
+    private static final Long DOCTOR_ID = 7L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 15);
+    private static final LocalTime TIME = LocalTime.of(10, 0);
+
+    private final AppointmentService appointmentService = mock(AppointmentService.class);
+    private final AppointmentSlotRepository appointmentSlotRepository = mock(AppointmentSlotRepository.class);
+    private final AvailabilityService availabilityService = mock(AvailabilityService.class);
+
+    private SlotBookingService slotBookingService;
+
+    @BeforeEach
+    void setUp() {
+        slotBookingService = new SlotBookingService(16, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(slotBookingService, "appointmentService", appointmentService);
+        ReflectionTestUtils.setField(slotBookingService, "appointmentSlotRepository", appointmentSlotRepository);
+        ReflectionTestUtils.setField(slotBookingService, "availabilityService", availabilityService);
+    }
+
+    @Test
+    void concurrentBookingsOfOneSlotSucceedExactlyOnce() throws Exception {
+        int threads = 32;
+        Set<String> bookedSlots = ConcurrentHashMap.newKeySet();
+        AtomicInteger inserts = new AtomicInteger();
+
+        when(appointmentSlotRepository.existsByDoctorIdAndDateAndTimeAndStatusNot(
+                any(), any(), any(), eq(AppointmentStatus.EXPIRED)))
+                .thenAnswer(inv -> bookedSlots.contains(key(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2))));
+        when(appointmentService.bookAppointment(anyLong(), any(), any(), any())).thenAnswer(inv -> {
+            // Widen the window between the existence check and the insert
+            Thread.sleep(5);
+            inserts.incrementAndGet();
+            bookedSlots.add(key(inv.getArgument(1), inv.getArgument(2), inv.getArgument(3)));
+            return new Appointment();
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long userId = i + 1;
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    slotBookingService.book(userId, DOCTOR_ID, DATE, TIME);
+                    return true;
+                } catch (SlotAlreadyBookedException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int booked = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                booked++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(booked).isEqualTo(1);
+        assertThat(inserts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void slotConstraintViolationIsReportedAsConflict() {
+        when(appointmentService.bookAppointment(anyLong(), any(), any(), any()))
+                .thenThrow(violation(SlotBookingService.SLOT_CONSTRAINT));
+
+        assertThatThrownBy(() -> slotBookingService.book(1L, DOCTOR_ID, DATE, TIME))
+                .isInstanceOf(SlotAlreadyBookedException.class);
+    }
+
+    @Test
+    void partialUniqueIndexViolationFromPostgresIsReportedAsConflict() {
+        // PostgreSQL's message for a duplicate in the V5 partial index; Hibernate takes the name from it
+        SQLException duplicate = new SQLException("ERROR: duplicate key value violates unique constraint "
+                + "\"uk_appointment_doctor_slot\"\n  Detail: Key (doctor_id, date, \"time\")=(7, 2030-01-15, 10:00:00) "
+                + "already exists.", "23505");
+        String constraint = new PostgreSQLDialect().getViolatedConstraintNameExtractor().extractConstraintName(duplicate);
+        when(appointmentService.bookAppointment(anyLong(), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("violation", duplicate, constraint)));
+
+        assertThat(constraint).isEqualTo(SlotBookingService.SLOT_CONSTRAINT);
+        assertThatThrownBy(() -> slotBookingService.book(1L, DOCTOR_ID, DATE, TIME))
+                .isInstanceOf(SlotAlreadyBookedException.class);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreRethrown() {
+        DataIntegrityViolationException foreignKey = violation("fk_appointment_user");
+        when(appointmentService.bookAppointment(anyLong(), any(), any(), any())).thenThrow(foreignKey);
+
+        assertThatThrownBy(() -> slotBookingService.book(1L, DOCTOR_ID, DATE, TIME))
+                .isSameAs(foreignKey);
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("violation", new SQLException("violation"), constraint));
+    }
+
+    private static String key(Long doctorId, LocalDate date, LocalTime time) {
+        return doctorId + "_" + date + "_" + time;
+    }
+}
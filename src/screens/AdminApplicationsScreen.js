@@ -18,11 +18,14 @@ import { getDefaultProfileImage } from './HomeScreen';
 import { getDoctorProfileImage } from '../utils/helpers';
 
 const COMMON_TEAL = '#008080';
+const PENDING_PAGE_SIZE = 50;
 
 const AppointmentCard = ({ item }) => {
-  if (!item || !item.doctor || !item.user) return null;
+  if (!item || !item.doctorId || !item.userId) return null;
 
-  const { doctor, user, date, time, id } = item;
+  const { date, time, id } = item;
+  const doctor = { fullName: item.doctorFullName, gender: item.doctorGender, specialization: item.doctorSpecialization };
+  const user = { fullName: item.userFullName, gender: item.userGender };
 
   return (
     <View style={styles.plainCard}>
@@ -121,44 +124,79 @@ const DoctorApprovalCard = ({ doctor, onApproved }) => {
 export const AdminApplicationsScreen = () => {
   const [selectedIndex, setSelectedIndex] = useState(0);
   const [pendingDoctors, setPendingDoctors] = useState([]);
+  const [pendingTotal, setPendingTotal] = useState(0);
+  const [loadingPending, setLoadingPending] = useState(false);
   const [appointments, setAppointments] = useState([]);
+  const [appointmentsCursor, setAppointmentsCursor] = useState(null);
+  const [loadingAppointments, setLoadingAppointments] = useState(false);
 
-  useEffect(() => {
-    const fetchPendingDoctors = async () => {
-      try {
-        const res = await api.get('/admin/pending');
-
-        if (Array.isArray(res.data)) {
-          setPendingDoctors(res.data);
-        } else {
-          console.warn('Unexpected doctor data:', res.data);
-          setPendingDoctors([]);
-        }
-      } catch (error) {
-        console.error('Error fetching pending doctors:', error);
-        setPendingDoctors([]);
+  // /admin/pending is paged; X-Total-Count tells us whether another page remains
+  const fetchPendingDoctors = async (page) => {
+    setLoadingPending(true);
+    try {
+      const res = await api.get('/admin/pending', { params: { page, size: PENDING_PAGE_SIZE } });
+
+      if (Array.isArray(res.data)) {
+        // Approvals shift later rows onto earlier pages, so a page can repeat doctors we already have
+        setPendingDoctors((prev) => {
+          if (page === 0) return res.data;
+          const seen = new Set(prev.map((doc) => doc.id));
+          return [...prev, ...res.data.filter((doc) => !seen.has(doc.id))];
+        });
+        setPendingTotal(Number(res.headers['x-total-count']) || 0);
+      } else {
+        console.warn('Unexpected doctor data:', res.data);
+        if (page === 0) setPendingDoctors([]);
+        setPendingTotal(0);
       }
-    };
+    } catch (error) {
+      console.error('Error fetching pending doctors:', error);
+      if (page === 0) setPendingDoctors([]);
+      setPendingTotal(0);
+    } finally {
+      setLoadingPending(false);
+    }
+  };
 
-    fetchPendingDoctors();
-  }, []);
+  const loadMorePendingDoctors = () => {
+    if (pendingDoctors.length < pendingTotal && !loadingPending) {
+      fetchPendingDoctors(Math.floor(pendingDoctors.length / PENDING_PAGE_SIZE));
+    }
+  };
 
   useEffect(() => {
-    const fetchAppointments = async () => {
-      try {
-        const res = await api.get('/admin/appointments');
-        if (Array.isArray(res.data)) {
-          setAppointments(res.data);
-        } else {
-          console.warn('Unexpected response:', res.data);
-          setAppointments([]); // fallback
-        }
-      } catch (err) {
-        console.error('Failed to fetch appointments:', err);
-        setAppointments([]); // fallback on error
+    fetchPendingDoctors(0);
+  }, []);
+
+  // The endpoint returns one page at a time; X-Next-Cursor is only set while more rows remain
+  const fetchAppointments = async (afterId) => {
+    setLoadingAppointments(true);
+    try {
+      const res = await api.get('/admin/appointments', { params: afterId ? { afterId } : {} });
+      if (Array.isArray(res.data)) {
+        setAppointments((prev) => (afterId ? [...prev, ...res.data] : res.data));
+        setAppointmentsCursor(res.headers['x-next-cursor'] || null);
+      } else {
+        console.warn('Unexpected response:', res.data);
+        if (!afterId) setAppointments([]); // fallback
+        setAppointmentsCursor(null);
       }
-    };
+    } catch (err) {
+      console.error('Failed to fetch appointments:', err);
+      if (!afterId) setAppointments([]); // fallback on error
+      setAppointmentsCursor(null);
+    } finally {
+      setLoadingAppointments(false);
+    }
+  };
 
+  const loadMoreAppointments = () => {
+    if (appointmentsCursor && !loadingAppointments) {
+      fetchAppointments(appointmentsCursor);
+    }
+  };
+
+  useEffect(() => {
     fetchAppointments();
   }, []);
 
@@ -343,6 +381,8 @@ export const AdminApplicationsScreen = () => {
             data={appointments}
             keyExtractor={(item) => item.id.toString()}
             renderItem={({ item }) => <AppointmentCard item={item} />}
+            onEndReached={loadMoreAppointments}
+            onEndReachedThreshold={0.5}
             contentContainerStyle={styles.listContainer}
           />
         )
@@ -360,11 +400,19 @@ export const AdminApplicationsScreen = () => {
             renderItem={({ item }) => (
               <DoctorApprovalCard
                 doctor={item}
-                onApproved={(approvedId) =>
-                  setPendingDoctors((prev) => prev.filter((doc) => doc.id !== approvedId))
-                }
+                onApproved={(approvedId) => {
+                  setPendingDoctors((prev) => prev.filter((doc) => doc.id !== approvedId));
+                  setPendingTotal((prev) => Math.max(prev - 1, 0));
+                }}
               />
             )}
+            ListHeaderComponent={
+              <Text style={styles.pendingCount}>
+                Showing {pendingDoctors.length} of {pendingTotal} pending doctors
+              </Text>
+            }
+            onEndReached={loadMorePendingDoctors}
+            onEndReachedThreshold={0.5}
             contentContainerStyle={styles.listContainer}
           />
         )
@@ -514,6 +562,11 @@ const styles = StyleSheet.create({
     fontWeight: '600',
     fontSize: 14,
   },
+  pendingCount: {
+    fontSize: 13,
+    color: '#666',
+    marginBottom: 8,
+  },
   greenCircle: {
     backgroundColor: '#008080',
     width: 23,
@@ -58,7 +58,8 @@ const BookAppointmentScreen = ({ route, navigation }) => {
   }
 
   const appointment = latestAppointment;
-  const statusColor = appointment?.status === 'APPROVED' ? 'green' : '#FF6B00';
+  const statusColor = appointment?.status === 'APPROVED' ? 'green'
+    : appointment?.status === 'EXPIRED' ? '#999' : '#FF6B00';
 
   return (
     <SafeAreaView style={styles.safeArea} edges={['bottom', 'left', 'right']}>
@@ -162,6 +163,10 @@ const BookAppointmentScreen = ({ route, navigation }) => {
             <Text style={styles.pendingText}>
               Appointment is pending. Once approved, you'll get the payment option.
             </Text>
+          ) : appointment.status === 'EXPIRED' ? (
+            <Text style={styles.pendingText}>
+              This request expired before it was approved. Please book another slot.
+            </Text>
           ) : !paid ? (
             <>
               <Text style={styles.pendingText}>
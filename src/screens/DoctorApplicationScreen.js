@@ -66,7 +66,8 @@ const DoctorApplicationScreen = () => {
     const fetchAppointments = async () => {
       try {
         const res = await api.get(`/appointments/doctor/${doctorId}`);
-        setAppointments(res.data);
+        // Expired requests were never approved and their slot has been released
+        setAppointments(res.data.filter(app => app.status !== 'EXPIRED'));
       } catch (error) {
         console.error('Error fetching doctor appointments:', error);
       }